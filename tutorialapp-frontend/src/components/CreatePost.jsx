@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Container, Row, Col, Form, Button, Card, Alert } from 'react-bootstrap';
 
@@ -12,9 +12,12 @@ function CreatePost() {
     const [error, setError] = useState(null);
     const [isSubmitting, setIsSubmitting] = useState(false);
     const navigate = useNavigate();
+    // Same key for resubmits of the same draft, so a retry after a timeout cannot create a duplicate
+    const idempotencyKey = useRef(crypto.randomUUID());
 
     const handleChange = (e) => {
         setFormData({ ...formData, [e.target.name]: e.target.value });
+        idempotencyKey.current = crypto.randomUUID();
     };
 
     const handleSubmit = async (e) => {
@@ -32,6 +35,7 @@ function CreatePost() {
                 headers: {
                     'Content-Type': 'application/json',
                     'Authorization': `Bearer ${token}`,
+                    'Idempotency-Key': idempotencyKey.current,
                 },
                 body: JSON.stringify(tutorial),
             });
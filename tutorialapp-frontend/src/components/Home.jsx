@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import { BookmarkIcon, HeartIcon, ChatBubbleLeftIcon } from '@heroicons/react/24/outline';
 import { HeartIcon as HeartIconSolid, BookmarkIcon as BookmarkIconSolid } from '@heroicons/react/24/solid';
@@ -6,6 +6,10 @@ import { Container, Row, Col, Card, Form, Button, Badge, Carousel } from 'react-
 
 function Home() {
     const [tutorials, setTutorials] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    // Read by the event handlers, which are registered once
+    const nextCursorRef = useRef(null);
     const [bookmarks, setBookmarks] = useState(JSON.parse(localStorage.getItem('bookmarks')) || []);
     const [likes, setLikes] = useState({});
     const [comments, setComments] = useState({});
@@ -20,6 +24,35 @@ function Home() {
         fetchTutorials();
     }, []);
 
+    // Live updates instead of re-polling the feed; EventSource reconnects by itself, and the
+    // server answers with a resync event whenever this client missed some events
+    useEffect(() => {
+        const events = new EventSource('http://localhost:9090/api/tutorials/events');
+        // The feed is in _id order, so a new tutorial goes at the end; until the last page is loaded, it arrives with it
+        const applyCreate = (e) => {
+            const { id, tutorial } = JSON.parse(e.data);
+            if (!tutorial || nextCursorRef.current) return;
+            setTutorials(current => (current.some(tut => tut.id === id) ? current : [...current, tutorial]));
+            setLikes(current => ({ ...current, [id]: tutorial.likes || 0 }));
+            setComments(current => ({ ...current, [id]: [] }));
+        };
+        const applyUpdate = (e) => {
+            const { id, tutorial } = JSON.parse(e.data);
+            if (!tutorial) return;
+            setTutorials(current => current.map(tut => tut.id === id ? { ...tut, ...tutorial } : tut));
+            setLikes(current => (id in current ? { ...current, [id]: tutorial.likes } : current));
+        };
+        const applyDelete = (e) => {
+            const { id } = JSON.parse(e.data);
+            setTutorials(current => current.filter(tut => tut.id !== id));
+        };
+        events.addEventListener('created', applyCreate);
+        events.addEventListener('updated', applyUpdate);
+        events.addEventListener('deleted', applyDelete);
+        events.addEventListener('resync', () => fetchTutorials());
+        return () => events.close();
+    }, []);
+
     const fetchUser = async () => {
         const params = new URLSearchParams(location.search);
         const tokenFromUrl = params.get('token');
@@ -50,22 +83,38 @@ function Home() {
         }
     };
 
-    const fetchTutorials = async () => {
+    // Loads the first feed page, or the page after the given cursor and appends it
+    const fetchTutorials = async (after = null) => {
+        const url = new URL('http://localhost:9090/api/tutorials/feed');
+        if (after) url.searchParams.set('after', after);
         try {
-            const response = await fetch('http://localhost:9090/api/tutorials');
+            const response = await fetch(url);
             if (!response.ok) throw new Error(`HTTP error! Status: ${response.status}`);
-            const data = await response.json();
-            setTutorials(Array.isArray(data) ? data : []);
-            const initialLikes = data.reduce((acc, tut) => ({ ...acc, [tut.id]: tut.likes || 0 }), {});
-            const initialComments = data.reduce((acc, tut) => ({ ...acc, [tut.id]: tut.comments || [] }), {});
-            setLikes(initialLikes);
-            setComments(initialComments);
+            const page = await response.json();
+            const items = Array.isArray(page.items) ? page.items : [];
+            const pageLikes = items.reduce((acc, tut) => ({ ...acc, [tut.id]: tut.likes || 0 }), {});
+            const pageComments = items.reduce((acc, tut) => ({ ...acc, [tut.id]: tut.comments || [] }), {});
+            setTutorials(current => (after ? [...current, ...items] : items));
+            setLikes(current => (after ? { ...current, ...pageLikes } : pageLikes));
+            setComments(current => (after ? { ...current, ...pageComments } : pageComments));
+            setNextCursor(page.nextCursor || null);
+            nextCursorRef.current = page.nextCursor || null;
         } catch (error) {
             console.error('Error fetching tutorials:', error);
-            setTutorials([]);
+            if (!after) {
+                setTutorials([]);
+                setNextCursor(null);
+                nextCursorRef.current = null;
+            }
         }
     };
 
+    const loadMore = async () => {
+        setLoadingMore(true);
+        await fetchTutorials(nextCursor);
+        setLoadingMore(false);
+    };
+
     const toggleBookmark = (id) => {
         const updatedBookmarks = bookmarks.includes(id)
             ? bookmarks.filter(bookmarkId => bookmarkId !== id)
@@ -102,11 +151,12 @@ function Home() {
                     'Content-Type': 'application/json',
                     'Authorization': `Bearer ${token}`,
                 },
-                body: JSON.stringify(comment),
+                body: JSON.stringify({ text: comment }),
             });
             if (response.ok) {
-                const updatedTutorial = await response.json();
-                setComments({ ...comments, [id]: updatedTutorial.comments });
+                const created = await response.json();
+                setComments({ ...comments, [id]: [...(comments[id] || []), created.text] });
+                setTutorials(tutorials.map(tut => tut.id === id ? { ...tut, commentCount: (tut.commentCount || 0) + 1 } : tut));
                 setCommentInput({ ...commentInput, [id]: '' });
             }
         } catch (error) {
@@ -137,7 +187,7 @@ function Home() {
 
     const filteredTutorials = tutorials.filter(tutorial =>
         tutorial.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        tutorial.description.toLowerCase().includes(searchTerm.toLowerCase()) ||
+        (tutorial.description || '').toLowerCase().includes(searchTerm.toLowerCase()) ||
         (tutorial.tags && tutorial.tags.some(tag => tag.toLowerCase().includes(searchTerm.toLowerCase())))
     );
 
@@ -276,9 +326,11 @@ function Home() {
                                             </div>
                                             <Card.Title className="mb-2">{tutorial.title}</Card.Title>
                                             <Card.Text className="text-muted mb-3">{tutorial.description}</Card.Text>
-                                            <div className="code-snippet bg-light p-3 mb-3" style={{ borderLeft: '4px solid #28a745' }}>
-                                                <pre><code>{tutorial.codeSnippet}</code></pre>
-                                            </div>
+                                            {tutorial.codeSnippet && (
+                                                <div className="code-snippet bg-light p-3 mb-3" style={{ borderLeft: '4px solid #28a745' }}>
+                                                    <pre><code>{tutorial.codeSnippet}</code></pre>
+                                                </div>
+                                            )}
                                             <div className="post-tags mb-3">
                                                 {Array.isArray(tutorial.tags) && tutorial.tags.map(tag => (
                                                     <Badge key={tag} bg="success" text="white" className="me-1">
@@ -300,7 +352,7 @@ function Home() {
                                                 </button>
                                                 <button className="btn btn-sm d-flex align-items-center text-success">
                                                     <ChatBubbleLeftIcon className="me-1" width={18} />
-                                                    <span>{comments[tutorial.id] ? comments[tutorial.id].length : 0}</span>
+                                                    <span>{tutorial.commentCount || 0}</span>
                                                 </button>
                                             </div>
                                             <Form.Group className="mb-3">
@@ -353,6 +405,13 @@ function Home() {
                                     </Card>
                                 ))
                             )}
+                            {nextCursor && (
+                                <div className="text-center mb-4">
+                                    <Button variant="outline-success" onClick={loadMore} disabled={loadingMore}>
+                                        {loadingMore ? 'Loading...' : 'Load more'}
+                                    </Button>
+                                </div>
+                            )}
                         </Col>
                         <Col lg={4}>
                             <Card className="sidebar-card mb-4">
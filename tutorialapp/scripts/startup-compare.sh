@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the ways this service can be launched:
+#   jvm        plain executable jar
+#   aot        Spring AOT bean definitions (-Dspring.aot.enabled=true)
+#   cds        class-data sharing archive from the training run
+#   aot+cds    both, the recommended JVM setup
+#   native     GraalVM native image, if target/tutorialapp exists
+#
+# Build first:  mvn -Pfast-startup package -DskipTests   (and optionally  mvn -Pnative native:compile)
+# Usage:        scripts/startup-compare.sh [runs] [application arguments...]
+#
+# Each variant is started [runs] times (default 5). Startup is the time Spring reports in its
+# "Started TutorialappApplication in" line; RSS is read from /proc once the app has started and once
+# more after a few seconds, when lazily initialised pools and caches have settled. Application
+# arguments default to a local Mongo and placeholder secrets; pass real ones to measure against a
+# populated database.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+ARGS=("$@")
+if [ ${#ARGS[@]} -eq 0 ]; then
+  ARGS=(--spring.data.mongodb.uri=mongodb://localhost:27017/startup-compare
+        --jwt.secret=startup-compare-placeholder-secret-not-for-signing
+        --jwt.expiration=3600000
+        --spring.security.oauth2.client.registration.google.client-id=startup-compare
+        --spring.security.oauth2.client.registration.github.client-id=startup-compare
+        --server.port=0)
+fi
+
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=tutorialapp-0.0.1-SNAPSHOT.jar
+NATIVE=$PWD/target/tutorialapp
+# The CDS archive records the jar by its relative path, so everything runs from the extracted directory
+cd target/fast-startup 2>/dev/null && [ -f "$JAR" ] \
+  || { echo "Missing target/fast-startup/$JAR; run mvn -Pfast-startup package first" >&2; exit 1; }
+
+declare -A VARIANTS=(
+  [jvm]="$JAVA -jar $JAR"
+  [aot]="$JAVA -Dspring.aot.enabled=true -jar $JAR"
+  [cds]="$JAVA -XX:SharedArchiveFile=application.jsa -jar $JAR"
+  [aot+cds]="$JAVA -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar $JAR"
+)
+ORDER=(jvm aot cds aot+cds)
+if [ -x "$NATIVE" ]; then
+  VARIANTS[native]="$NATIVE"
+  ORDER+=(native)
+fi
+
+rss_mb() {
+  awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$1/status"
+}
+
+# Prints "startup_seconds rss_at_start_mb rss_settled_mb" for one launch
+measure() {
+  local log
+  log=$(mktemp)
+  # shellcheck disable=SC2086
+  ${VARIANTS[$1]} "${ARGS[@]}" > "$log" 2>&1 &
+  local pid=$!
+  local started=""
+  for _ in $(seq 1 600); do
+    started=$(grep -o 'Started TutorialappApplication in [0-9.]*' "$log" | awk '{ print $4 }' || true)
+    [ -n "$started" ] && break
+    kill -0 "$pid" 2>/dev/null || break
+    sleep 0.1
+  done
+  if [ -z "$started" ]; then
+    kill "$pid" 2>/dev/null || true
+    echo "$1 did not start; log follows" >&2
+    tail -40 "$log" >&2
+    rm -f "$log"
+    return 1
+  fi
+  local rss_start rss_settled
+  rss_start=$(rss_mb "$pid")
+  sleep 5
+  rss_settled=$(rss_mb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  echo "$started $rss_start $rss_settled"
+}
+
+printf "%-8s %14s %14s %16s\n" variant "startup (s)" "RSS start (MB)" "RSS settled (MB)"
+for variant in "${ORDER[@]}"; do
+  results=()
+  for _ in $(seq 1 "$RUNS"); do
+    results+=("$(measure "$variant")")
+  done
+  # Medians, so one slow run (cold page cache, GC) does not skew the comparison
+  printf "%s\n" "${results[@]}" | awk -v name="$variant" '
+    { s[NR] = $1; a[NR] = $2; b[NR] = $3 }
+    function median(v, n,   i, j, t) {
+      for (i = 1; i <= n; i++) for (j = i + 1; j <= n; j++) if (v[j] < v[i]) { t = v[i]; v[i] = v[j]; v[j] = t }
+      return n % 2 ? v[(n + 1) / 2] : (v[n / 2] + v[n / 2 + 1]) / 2
+    }
+    END { printf "%-8s %14.3f %14d %16d\n", name, median(s, NR), median(a, NR), median(b, NR) }'
+done
@@ -0,0 +1,128 @@
+package com.example.tutorialapp.benchmark;
+
+import com.example.tutorialapp.TutorialappApplication;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.User;
+import com.example.tutorialapp.service.InMemoryTokenRevocationStore;
+import com.example.tutorialapp.service.JwtService;
+import com.example.tutorialapp.service.TokenRevocationService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fixtures shared by the JMH benchmarks and the scenario load test in ../loadtest
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final String[] TAGS = {"java", "spring", "react", "python", "mongodb", "streams", "webdev", "security"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long cacheMaxSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cacheMaxSize);
+        invokeInit(jwtService);
+        return jwtService;
+    }
+
+    static TokenRevocationService tokenRevocationService(JwtService jwtService) {
+        TokenRevocationService service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "store", new InMemoryTokenRevocationStore());
+        ReflectionTestUtils.setField(service, "jwtService", jwtService);
+        ReflectionTestUtils.setField(service, "expectedInsertions", 100_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.001);
+        invokeInit(service);
+        return service;
+    }
+
+    public static User user(int n) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setEmail("user" + n + "@example.com");
+        user.setName("User " + n);
+        user.setProvider("github");
+        user.setProviderId(String.valueOf(n));
+        return user;
+    }
+
+    // In-memory MongoDB wire-protocol stand-in on a free port; pair with uriOf
+    public static MongoServer startMongo() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        server.bind();
+        return server;
+    }
+
+    public static String uriOf(MongoServer server) {
+        return "mongodb://localhost:" + server.getLocalAddress().getPort();
+    }
+
+    /**
+     * Starts the application on a random port with placeholder secrets. Everything is passed as
+     * command-line arguments so it wins over any local application.properties; callers append their own.
+     */
+    public static ConfigurableApplicationContext startApplication(String mongoUri, String database, String... arguments) {
+        // Devtools is on the test classpath; its restarter would re-run the caller's main class with these arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=" + database,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--jwt.secret=" + JWT_SECRET,
+                "--jwt.expiration=3600000",
+                "--spring.security.oauth2.client.registration.google.client-id=benchmark",
+                "--spring.security.oauth2.client.registration.google.client-secret=benchmark",
+                "--spring.security.oauth2.client.registration.github.client-id=benchmark",
+                "--spring.security.oauth2.client.registration.github.client-secret=benchmark"));
+        args.addAll(List.of(arguments));
+        return new SpringApplicationBuilder(TutorialappApplication.class).run(args.toArray(new String[0]));
+    }
+
+    static List<Tutorial> tutorials(int count, int snippetLength, long seed) {
+        Random random = new Random(seed);
+        List<Tutorial> tutorials = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Tutorial tutorial = new Tutorial();
+            tutorial.setId(new ObjectId().toHexString());
+            tutorial.setTitle("Tutorial " + i + " on " + TAGS[i % TAGS.length]);
+            tutorial.setDescription(text(random, 400));
+            tutorial.setCodeSnippet(text(random, snippetLength));
+            tutorial.setTags(List.of(TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]));
+            tutorial.setCreatorId("user" + (i % 50) + "@example.com");
+            tutorials.add(tutorial);
+        }
+        return tutorials;
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(i % 12 == 11 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    // init() is package-private @PostConstruct; the benchmarks build services without Spring
+    private static void invokeInit(Object target) {
+        try {
+            Method init = target.getClass().getDeclaredMethod("init");
+            init.setAccessible(true);
+            init.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
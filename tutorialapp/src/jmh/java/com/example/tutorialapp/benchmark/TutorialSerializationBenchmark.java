@@ -0,0 +1,64 @@
+package com.example.tutorialapp.benchmark;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of list responses: full documents versus the TutorialSummary projection
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TutorialSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int listSize;
+
+    @Param({"200", "2000", "20000"})
+    public int snippetLength;
+
+    private ObjectMapper objectMapper;
+    private List<Tutorial> tutorials;
+    private List<TutorialSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tutorials = BenchmarkFixtures.tutorials(listSize, snippetLength, 42);
+        summaries = tutorials.stream().map(TutorialSerializationBenchmark::summarize).toList();
+    }
+
+    @Benchmark
+    public void fullDocuments() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), tutorials);
+    }
+
+    @Benchmark
+    public void summaries() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), summaries);
+    }
+
+    private static TutorialSummary summarize(Tutorial tutorial) {
+        TutorialSummary summary = new TutorialSummary();
+        summary.setId(tutorial.getId());
+        summary.setTitle(tutorial.getTitle());
+        summary.setDescription(tutorial.getDescription().substring(0, 200) + "...");
+        summary.setTags(tutorial.getTags());
+        summary.setCreatorId(tutorial.getCreatorId());
+        return summary;
+    }
+}
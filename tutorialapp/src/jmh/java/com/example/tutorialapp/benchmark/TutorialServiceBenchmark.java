@@ -0,0 +1,105 @@
+package com.example.tutorialapp.benchmark;
+
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.repository.TutorialRepository;
+import com.example.tutorialapp.service.TutorialService;
+import de.bwaldvogel.mongo.MongoServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TutorialService operations through the real Spring context against mongo-java-server, an in-memory
+ * MongoDB wire-protocol stand-in. Absolute numbers do not match a real mongod, but relative costs
+ * (cache hits versus round-trips, summaries versus documents) and allocation rates are comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TutorialServiceBenchmark {
+
+    private static final int SEEDED_TUTORIALS = 5_000;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private MongoServer mongoServer;
+    private ConfigurableApplicationContext context;
+    private TutorialService tutorialService;
+    private List<Tutorial> seeded;
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoServer = BenchmarkFixtures.startMongo();
+        context = BenchmarkFixtures.startApplication(BenchmarkFixtures.uriOf(mongoServer), "benchmark",
+                "--mongo.ensure-indexes=false",
+                "--tutorial.cache.enabled=" + cacheEnabled);
+        tutorialService = context.getBean(TutorialService.class);
+        seeded = context.getBean(TutorialRepository.class)
+                .saveAll(BenchmarkFixtures.tutorials(SEEDED_TUTORIALS, 2_000, 7));
+        secondPageCursor = tutorialService.getTutorialFeed(null, TutorialService.DEFAULT_PAGE_SIZE).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Benchmark
+    public Tutorial getTutorialById() {
+        return tutorialService.getTutorialById(randomTutorial().getId());
+    }
+
+    @Benchmark
+    public CursorPage<TutorialSummary> firstFeedPage() {
+        return tutorialService.getTutorialFeed(null, TutorialService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<TutorialSummary> cursorFeedPage() {
+        return tutorialService.getTutorialFeed(secondPageCursor, TutorialService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TutorialSummary> tagSearch() {
+        return tutorialService.searchTutorials(null, List.of("java", "spring"), false, 0, TutorialService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Tutorial patchTitle() {
+        Tutorial tutorial = randomTutorial();
+        TutorialPatch patch = new TutorialPatch();
+        patch.setTitle("Edited " + System.nanoTime());
+        return tutorialService.patchTutorial(tutorial.getId(), tutorial.getCreatorId(), patch);
+    }
+
+    @Benchmark
+    public Tutorial createTutorial() {
+        Tutorial tutorial = BenchmarkFixtures.tutorials(1, 2_000, System.nanoTime()).get(0);
+        tutorial.setId(null);
+        return tutorialService.createTutorial(tutorial);
+    }
+
+    private Tutorial randomTutorial() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+}
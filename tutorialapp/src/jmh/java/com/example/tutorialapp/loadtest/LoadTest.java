@@ -0,0 +1,312 @@
+package com.example.tutorialapp.loadtest;
+
+import com.example.tutorialapp.benchmark.BenchmarkFixtures;
+import com.example.tutorialapp.service.JwtService;
+import com.example.tutorialapp.service.SnippetStore;
+import com.example.tutorialapp.service.TagStatistics;
+import com.example.tutorialapp.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeds a database with {@link SyntheticData} and replays a {@link Scenario} mix against the REST API of
+ * an in-process instance, then prints throughput and latency percentiles per operation.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec@loadtest -Dloadtest.args="..."}, where the
+ * arguments are {@code --name=value} pairs:
+ * <ul>
+ *   <li>users (1000), tutorials (20000), median-snippet (800 chars), seed (42): the generated data</li>
+ *   <li>mix (feed=35,get=30,search=15,create=8,update=7,login=5): relative operation weights</li>
+ *   <li>concurrency (32), warmup (10s), duration (60s): closed-loop load, each worker waiting for its
+ *       response before sending the next request</li>
+ *   <li>rate (0): when set, requests per second sent on a fixed schedule regardless of responses
+ *       (open loop), with latency measured from the scheduled start so queueing delay is not hidden;
+ *       concurrency then caps the requests in flight, beyond which requests are counted as dropped</li>
+ *   <li>mongo-uri: a real MongoDB to seed and test against instead of the in-memory stand-in, and
+ *       database (tutorialapp-loadtest), which is dropped first; its name must contain "loadtest"</li>
+ *   <li>rate-limit (false): keep the per-user rate limits, to test them rather than the service</li>
+ * </ul>
+ * The in-memory stand-in runs every query as a collection scan and supports neither text search
+ * nor index builds, so use it to compare code paths and find contention; look for absolute limits
+ * against a real mongod.
+ */
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, String> options;
+    private final Map<Scenario.Operation, Histogram> latencies = new EnumMap<>(Scenario.Operation.class);
+    private final Map<Scenario.Operation, Map<Integer, LongAdder>> failures = new EnumMap<>(Scenario.Operation.class);
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean recording;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        for (Scenario.Operation operation : Scenario.Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            failures.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments look like --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+        // Stray keep-alive and scheduler threads must not keep exec:exec waiting
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        int users = intOption("users", 1_000);
+        int tutorials = intOption("tutorials", 20_000);
+        long seed = intOption("seed", 42);
+        Map<Scenario.Operation, Integer> mix = Scenario.parseMix(
+                options.getOrDefault("mix", "feed=35,get=30,search=15,create=8,update=7,login=5"));
+
+        String database = options.getOrDefault("database", "tutorialapp-loadtest");
+        if (!database.contains("loadtest")) {
+            throw new IllegalArgumentException("Refusing to seed (and drop) a database not named *loadtest*: " + database);
+        }
+        String mongoUri = options.get("mongo-uri");
+        MongoServer mongoServer = null;
+        if (mongoUri == null) {
+            mongoServer = BenchmarkFixtures.startMongo();
+            mongoUri = BenchmarkFixtures.uriOf(mongoServer);
+        } else {
+            // Before the application starts, so the indexes it builds on startup survive
+            try (MongoClient client = MongoClients.create(mongoUri)) {
+                client.getDatabase(database).drop();
+            }
+        }
+        boolean standIn = mongoServer != null;
+
+        try (ConfigurableApplicationContext context = start(mongoUri, database, standIn)) {
+            MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+            long seedStart = System.nanoTime();
+            SyntheticData.Dataset dataset = new SyntheticData(seed, users, intOption("median-snippet", 800))
+                    .seed(mongoTemplate, context.getBean(SnippetStore.class), users, tutorials);
+            context.getBean(TagStatistics.class).reconcile();
+            System.out.printf("Seeded %d users and %d tutorials in %d ms%n", users, tutorials,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            JwtService jwtService = context.getBean(JwtService.class);
+            UserService userService = context.getBean(UserService.class);
+            Map<String, String> tokens = new HashMap<>();
+            dataset.users().forEach(user -> tokens.put(user.getEmail(), jwtService.generateToken(user)));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            Scenario scenario = new Scenario(URI.create("http://localhost:" + port), client,
+                    context.getBean(ObjectMapper.class), dataset, Map.copyOf(tokens),
+                    user -> jwtService.generateToken(userService.processOAuth2User("github", Map.of(
+                            "id", user.getProviderId(), "login", "user" + user.getProviderId(),
+                            "email", user.getEmail(), "name", user.getName()))),
+                    mix, !standIn);
+
+            long warmupMillis = durationOption("warmup", "10s");
+            long durationMillis = durationOption("duration", "60s");
+            int concurrency = intOption("concurrency", 32);
+            int rate = intOption("rate", 0);
+            System.out.printf("Running %s for %ds after %ds warm-up: %s%n",
+                    rate > 0 ? rate + " requests/s (open loop, at most " + concurrency + " in flight)"
+                            : concurrency + " closed-loop workers",
+                    durationMillis / 1000, warmupMillis / 1000, mix);
+
+            long elapsedNanos = rate > 0
+                    ? openLoop(scenario, seed, rate, concurrency, warmupMillis, durationMillis)
+                    : closedLoop(scenario, seed, concurrency, warmupMillis, durationMillis);
+            report(elapsedNanos);
+        } finally {
+            if (mongoServer != null) {
+                mongoServer.shutdownNow();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mongoUri, String database, boolean standIn) {
+        List<String> args = new ArrayList<>(List.of("--ratelimit.enabled=" + options.getOrDefault("rate-limit", "false")));
+        if (standIn) {
+            // No change streams or index builds in the stand-in
+            args.add("--tutorial.events.enabled=false");
+            args.add("--mongo.ensure-indexes=false");
+        }
+        return BenchmarkFixtures.startApplication(mongoUri, database, args.toArray(new String[0]));
+    }
+
+    private long closedLoop(Scenario scenario, long seed, int concurrency, long warmupMillis, long durationMillis)
+            throws InterruptedException {
+        AtomicLong stopAt = new AtomicLong(Long.MAX_VALUE);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SyntheticData data = worker(seed, i);
+                workers.submit(() -> {
+                    while (System.nanoTime() < stopAt.get()) {
+                        Scenario.Operation operation = scenario.next(data.random());
+                        long start = System.nanoTime();
+                        record(operation, start, call(scenario, operation, data));
+                    }
+                });
+            }
+            long elapsed = measure(warmupMillis, durationMillis);
+            stopAt.set(System.nanoTime());
+            return elapsed;
+        }
+    }
+
+    private long openLoop(Scenario scenario, long seed, int rate, int maxInFlight, long warmupMillis,
+                          long durationMillis) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        SyntheticData data = worker(seed, 0);
+        AtomicLong stopAt = new AtomicLong(Long.MAX_VALUE);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread scheduler = Thread.ofPlatform().name("loadtest-scheduler").start(() -> {
+                long next = System.nanoTime();
+                while (next < stopAt.get()) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                        continue;
+                    }
+                    long scheduled = next;
+                    next += intervalNanos;
+                    if (!inFlight.tryAcquire()) {
+                        if (recording) {
+                            dropped.increment();
+                        }
+                        continue;
+                    }
+                    // Only the scheduler draws from this generator, so requests see a repeatable sequence
+                    Scenario.Operation operation = scenario.next(data.random());
+                    SyntheticData requestData = worker(data.random().nextLong(), 0);
+                    requests.submit(() -> {
+                        try {
+                            record(operation, scheduled, call(scenario, operation, requestData));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            });
+            long elapsed = measure(warmupMillis, durationMillis);
+            stopAt.set(System.nanoTime());
+            scheduler.join();
+            return elapsed;
+        }
+    }
+
+    // Sleeps through warm-up, then records for the duration; returns the recorded interval
+    private long measure(long warmupMillis, long durationMillis) throws InterruptedException {
+        Thread.sleep(warmupMillis);
+        latencies.values().forEach(Histogram::reset);
+        failures.values().forEach(Map::clear);
+        dropped.reset();
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationMillis);
+        recording = false;
+        return System.nanoTime() - start;
+    }
+
+    private int call(Scenario scenario, Scenario.Operation operation, SyntheticData data) {
+        try {
+            return scenario.execute(operation, data);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1; // Connection failures and timeouts
+        }
+    }
+
+    private void record(Scenario.Operation operation, long start, int status) {
+        if (!recording) {
+            return;
+        }
+        latencies.get(operation).recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS));
+        if (status < 200 || status >= 300) {
+            failures.get(operation).computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n%-8s %9s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "op", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "by status");
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+        for (Scenario.Operation operation : Scenario.Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            long errors = failures.get(operation).values().stream().mapToLong(LongAdder::sum).sum();
+            totalErrors += errors;
+            printRow(operation.name().toLowerCase(), histogram, seconds, errors, failures.get(operation).toString());
+        }
+        printRow("total", total, seconds, totalErrors, dropped.sum() > 0 ? "dropped=" + dropped.sum() : "");
+    }
+
+    private static void printRow(String name, Histogram histogram, double seconds, long errors, String detail) {
+        System.out.printf("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d  %s%n", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), errors, detail);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // A generator per worker, so workers never contend on one Random; they only draw tags, words and snippets
+    private SyntheticData worker(long seed, int worker) {
+        return new SyntheticData(seed * 31 + worker + 1, 1, intOption("median-snippet", 800));
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private long durationOption(String name, String defaultValue) {
+        String value = options.getOrDefault(name, defaultValue).trim();
+        return value.endsWith("ms") ? Long.parseLong(value.substring(0, value.length() - 2))
+                : value.endsWith("s") ? Long.parseLong(value.substring(0, value.length() - 1)) * 1000
+                : value.endsWith("m") ? Long.parseLong(value.substring(0, value.length() - 1)) * 60_000
+                : Long.parseLong(value) * 1000;
+    }
+}
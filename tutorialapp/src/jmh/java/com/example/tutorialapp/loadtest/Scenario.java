@@ -0,0 +1,187 @@
+package com.example.tutorialapp.loadtest;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * The request mix replayed against a running instance. Each operation is one HTTP exchange, picked by
+ * weight; the targets follow the same skew as the seeded data, so popular tags, prolific authors and
+ * recent tutorials are hit most, as they would be in production.
+ */
+final class Scenario {
+
+    enum Operation {
+        FEED, SEARCH, GET, CREATE, UPDATE, LOGIN
+    }
+
+    // Feed cursors seen in responses, so some feed requests page deeper than the first page
+    private static final int MAX_CURSORS = 1_000;
+
+    private final URI base;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final SyntheticData.Dataset dataset;
+    private final Map<String, String> tokensByEmail;
+    private final Function<User, String> login;
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+    private final SyntheticData.ZipfSampler recentTutorials;
+    private final boolean textSearch;
+    private final ConcurrentLinkedQueue<String> cursors = new ConcurrentLinkedQueue<>();
+
+    Scenario(URI base, HttpClient client, ObjectMapper objectMapper, SyntheticData.Dataset dataset,
+             Map<String, String> tokensByEmail, Function<User, String> login, Map<Operation, Integer> mix,
+             boolean textSearch) {
+        this.base = base;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+        this.tokensByEmail = tokensByEmail;
+        this.login = login;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new double[operations.length];
+        double total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]) / total;
+            cumulativeWeights[i] = sum;
+        }
+        this.recentTutorials = new SyntheticData.ZipfSampler(dataset.tutorialIds().size(), 0.8);
+        this.textSearch = textSearch;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("mix entries look like feed=40, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    Operation next(Random random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < operations.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // Sends one request for the operation and returns its status code
+    int execute(Operation operation, SyntheticData data) throws IOException, InterruptedException {
+        Random random = data.random();
+        return switch (operation) {
+            case FEED -> {
+                String cursor = random.nextInt(10) < 3 ? cursors.poll() : null;
+                HttpResponse<String> response = send(get("/api/tutorials/feed?size=20"
+                        + (cursor != null ? "&after=" + encode(cursor) : ""), null));
+                rememberCursor(response);
+                yield response.statusCode();
+            }
+            case SEARCH -> {
+                // One search in five is free text, where the server supports it
+                String query = textSearch && random.nextInt(5) == 0
+                        ? "q=" + encode(data.words(1))
+                        : "tags=" + encode(data.tag()) + (random.nextBoolean() ? "&tags=" + encode(data.tag()) : "");
+                yield send(get("/api/tutorials/search?" + query, null)).statusCode();
+            }
+            case GET -> send(get("/api/tutorials/" + recentTutorial(random), tokenOf(randomUser(random))))
+                    .statusCode();
+            case CREATE -> {
+                Tutorial tutorial = new Tutorial();
+                tutorial.setTitle(data.words(3 + random.nextInt(6)));
+                tutorial.setDescription(data.words(20 + random.nextInt(150)));
+                tutorial.setCodeSnippet(data.snippet());
+                tutorial.setTags(data.tags());
+                HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/tutorials"))
+                        .header("Authorization", "Bearer " + tokenOf(randomUser(random)))
+                        .header("Content-Type", "application/json")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(tutorial)))
+                        .build();
+                yield send(request).statusCode();
+            }
+            case UPDATE -> {
+                int index = dataset.tutorialIds().size() - 1 - recentTutorials.sample(random);
+                Map<String, Object> patch = new LinkedHashMap<>();
+                patch.put("title", data.words(3 + random.nextInt(6)));
+                HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/tutorials/" + dataset.tutorialIds().get(index)))
+                        .header("Authorization", "Bearer " + tokensByEmail.get(dataset.creators().get(index)))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(patch)))
+                        .build();
+                yield send(request).statusCode();
+            }
+            // What the OAuth2 success callback does (user upsert, token minting), then a first request with the new token
+            case LOGIN -> send(get("/api/auth/user", login.apply(randomUser(random)))).statusCode();
+        };
+    }
+
+    private String recentTutorial(Random random) {
+        List<String> ids = dataset.tutorialIds();
+        return ids.get(ids.size() - 1 - recentTutorials.sample(random));
+    }
+
+    private User randomUser(Random random) {
+        return dataset.users().get(random.nextInt(dataset.users().size()));
+    }
+
+    private String tokenOf(User user) {
+        return tokensByEmail.get(user.getEmail());
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void rememberCursor(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200 || cursors.size() >= MAX_CURSORS) {
+            return;
+        }
+        JsonNode next = objectMapper.readTree(response.body()).get("nextCursor");
+        if (next != null && next.isTextual()) {
+            cursors.add(next.asText());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
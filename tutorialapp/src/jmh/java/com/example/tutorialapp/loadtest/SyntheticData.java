@@ -0,0 +1,188 @@
+package com.example.tutorialapp.loadtest;
+
+import com.example.tutorialapp.benchmark.BenchmarkFixtures;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.User;
+import com.example.tutorialapp.service.SnippetStore;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates users and tutorials shaped like production data rather than uniform filler: a few tags and
+ * a few prolific authors account for most posts (both Zipf-distributed), snippet sizes are log-normal
+ * with a long tail past the inline limit, and tutorials are spread over the past year so ids, and with
+ * them feed order, look like organic growth. Everything is derived from one seed, so a run can be
+ * repeated against the same data.
+ */
+final class SyntheticData {
+
+    static final String[] TAGS = {
+            "java", "spring", "javascript", "react", "python", "mongodb", "docker", "kubernetes", "sql",
+            "typescript", "css", "html", "node", "git", "linux", "security", "testing", "performance",
+            "streams", "concurrency", "algorithms", "webdev", "rest", "graphql", "aws", "azure", "gcp",
+            "kotlin", "go", "rust", "c", "cpp", "csharp", "dotnet", "redis", "kafka", "microservices",
+            "devops", "ci", "maven", "gradle", "junit", "oauth", "jwt", "caching", "regex", "json",
+            "lambda", "generics", "collections", "spring-boot", "hibernate", "jpa", "vue", "angular",
+            "svelte", "tailwind", "bash", "vim", "debugging"};
+
+    private static final String[] WORDS = {
+            "the", "a", "how", "to", "use", "with", "and", "for", "in", "when", "your", "fast", "simple",
+            "guide", "pattern", "example", "build", "deploy", "test", "config", "service", "query", "index",
+            "cache", "stream", "async", "error", "handling", "best", "practice", "deep", "dive", "into"};
+
+    private static final String[] CODE_LINES = {
+            "public static void main(String[] args) {",
+            "    List<String> names = users.stream().map(User::getName).toList();",
+            "    for (int i = 0; i < items.length; i++) {",
+            "        total += items[i].price() * items[i].quantity();",
+            "    }",
+            "    return repository.findById(id).orElseThrow();",
+            "const result = await fetch(`/api/items/${id}`).then(r => r.json());",
+            "def handler(event, context):",
+            "    return {\"statusCode\": 200, \"body\": json.dumps(items)}",
+            "SELECT id, title FROM posts WHERE created_at > NOW() - INTERVAL '7 days';",
+            "}",
+            "// TODO: handle the empty case",
+            "if (cache.containsKey(key)) return cache.get(key);"};
+
+    // Zipf exponents; around 1 gives the usual long tail where the top 10% account for most posts
+    private static final double AUTHOR_SKEW = 1.1;
+    private static final double TAG_SKEW = 1.0;
+    private static final long YEAR_MILLIS = 365L * 24 * 3600 * 1000;
+    private static final int BATCH = 1_000;
+
+    // Seeded tutorial ids, oldest first, with their creators at the same index
+    record Dataset(List<User> users, List<String> tutorialIds, List<String> creators) {
+    }
+
+    private final Random random;
+    private final ZipfSampler authors;
+    private final ZipfSampler tags;
+    private final int medianSnippetChars;
+
+    SyntheticData(long seed, int userCount, int medianSnippetChars) {
+        this.random = new Random(seed);
+        this.authors = new ZipfSampler(userCount, AUTHOR_SKEW);
+        this.tags = new ZipfSampler(TAGS.length, TAG_SKEW);
+        this.medianSnippetChars = medianSnippetChars;
+    }
+
+    Dataset seed(MongoTemplate mongoTemplate, SnippetStore snippetStore, int userCount, int tutorialCount) {
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(BenchmarkFixtures.user(i));
+        }
+        insertAll(mongoTemplate, users, User.class);
+
+        List<String> ids = new ArrayList<>(tutorialCount);
+        List<String> creators = new ArrayList<>(tutorialCount);
+        List<Tutorial> batch = new ArrayList<>(BATCH);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < tutorialCount; i++) {
+            // Spread creation times over the last year; sorted so older posts get smaller ids
+            long createdAt = now - YEAR_MILLIS + YEAR_MILLIS * i / Math.max(1, tutorialCount);
+            Tutorial tutorial = tutorial(users, createdAt);
+            ids.add(tutorial.getId());
+            creators.add(tutorial.getCreatorId());
+            batch.add(snippetStore.compact(tutorial));
+            if (batch.size() == BATCH) {
+                insertAll(mongoTemplate, batch, Tutorial.class);
+                batch.clear();
+            }
+        }
+        insertAll(mongoTemplate, batch, Tutorial.class);
+        return new Dataset(users, ids, creators);
+    }
+
+    Tutorial tutorial(List<User> users, long createdAt) {
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId(new ObjectId(new Date(createdAt), random.nextInt(0xFFFFFF)).toHexString());
+        tutorial.setVersion(0L);
+        tutorial.setTitle(words(3 + random.nextInt(6)));
+        tutorial.setDescription(words(20 + random.nextInt(150)));
+        tutorial.setCodeSnippet(snippet());
+        tutorial.setTags(tags());
+        tutorial.setCreatorId(users.get(authors.sample(random)).getEmail());
+        return tutorial;
+    }
+
+    // One to four distinct tags, popular ones far more often
+    List<String> tags() {
+        int count = 1 + Math.min(3, (int) Math.abs(random.nextGaussian() * 1.5));
+        Set<String> chosen = new LinkedHashSet<>();
+        while (chosen.size() < count) {
+            chosen.add(TAGS[tags.sample(random)]);
+        }
+        return List.copyOf(chosen);
+    }
+
+    String tag() {
+        return TAGS[tags.sample(random)];
+    }
+
+    String words(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(random.nextInt(4) == 0 ? TAGS[tags.sample(random)] : WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    // Log-normal around the median: most snippets are a screenful, a few are whole files
+    String snippet() {
+        int length = (int) Math.min(64_000, medianSnippetChars * Math.exp(random.nextGaussian()));
+        StringBuilder sb = new StringBuilder(length + 80);
+        while (sb.length() < length) {
+            sb.append(CODE_LINES[random.nextInt(CODE_LINES.length)]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    Random random() {
+        return random;
+    }
+
+    private static <T> void insertAll(MongoTemplate mongoTemplate, List<T> documents, Class<T> type) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        bulkOps.insert(documents);
+        bulkOps.execute();
+    }
+
+    /** Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^s, by inverting the CDF. */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, s);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
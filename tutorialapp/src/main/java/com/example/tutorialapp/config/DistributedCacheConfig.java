@@ -0,0 +1,72 @@
+package com.example.tutorialapp.config;
+
+import com.example.tutorialapp.service.DistributedCache;
+import com.example.tutorialapp.service.InMemoryTokenRevocationStore;
+import com.example.tutorialapp.service.LocalOnlyCache;
+import com.example.tutorialapp.service.RedisDistributedCache;
+import com.example.tutorialapp.service.RedisTokenRevocationStore;
+import com.example.tutorialapp.service.TokenRevocationStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+// With distributed.enabled=true every instance shares a Redis-compatible server (spring.data.redis.*)
+// for the second cache tier, cross-instance invalidation and token revocation. Otherwise the app runs
+// as a single instance with local-only equivalents and never connects to Redis.
+@Configuration
+@PropertySource("classpath:distributed.properties")
+public class DistributedCacheConfig {
+
+    @Value("${distributed.key-prefix}")
+    private String keyPrefix;
+
+    @Value("${distributed.cache.ttl-seconds}")
+    private long cacheTtlSeconds;
+
+    @Value("${distributed.cache.invalidation-hold-seconds}")
+    private long invalidationHoldSeconds;
+
+    @Bean
+    @ConditionalOnProperty(name = "distributed.enabled", havingValue = "true")
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "distributed.enabled", havingValue = "true")
+    public DistributedCache redisDistributedCache(StringRedisTemplate redis, RedisMessageListenerContainer container,
+                                                  MongoConverter mongoConverter, ObjectMapper objectMapper) {
+        return new RedisDistributedCache(redis, container, mongoConverter, objectMapper, keyPrefix,
+                Duration.ofSeconds(cacheTtlSeconds), Duration.ofSeconds(invalidationHoldSeconds));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "distributed.enabled", havingValue = "true")
+    public TokenRevocationStore redisTokenRevocationStore(StringRedisTemplate redis,
+                                                          RedisMessageListenerContainer container) {
+        return new RedisTokenRevocationStore(redis, container, keyPrefix);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "distributed.enabled", havingValue = "false", matchIfMissing = true)
+    public DistributedCache localOnlyCache() {
+        return new LocalOnlyCache();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "distributed.enabled", havingValue = "false", matchIfMissing = true)
+    public TokenRevocationStore inMemoryTokenRevocationStore() {
+        return new InMemoryTokenRevocationStore();
+    }
+}
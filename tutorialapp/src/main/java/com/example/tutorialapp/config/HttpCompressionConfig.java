@@ -0,0 +1,34 @@
+package com.example.tutorialapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+// gzip for JSON and NDJSON responses once they are large enough to be worth the CPU. Feed pages and
+// full tutorials with code snippets compress several-fold; small error bodies are sent as-is.
+@Configuration
+public class HttpCompressionConfig {
+
+    @Value("${http.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.compression.min-response-size:2048}")
+    private long minResponseSize;
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer() {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(enabled);
+            compression.setMinResponseSize(DataSize.ofBytes(minResponseSize));
+            compression.setMimeTypes(new String[] {
+                    "application/json", "application/x-ndjson", "text/html", "text/css", "text/plain",
+                    "text/javascript", "application/javascript"});
+            factory.setCompression(compression);
+        };
+    }
+}
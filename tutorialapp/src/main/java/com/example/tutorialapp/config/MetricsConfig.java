@@ -0,0 +1,13 @@
+package com.example.tutorialapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// Actuator and Micrometer defaults live in metrics.properties so they ship with the jar; as a
+// @PropertySource they rank below application.properties, which can still override them.
+// Request, repository and Mongo driver timers plus Mongo pool gauges come from Boot's
+// auto-configuration; JwtService, UserService and TutorialCache bind their own meters.
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
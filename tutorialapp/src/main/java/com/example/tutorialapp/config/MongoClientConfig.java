@@ -0,0 +1,36 @@
+package com.example.tutorialapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// Connection-pool sizing for the synchronous Mongo driver. With virtual threads request concurrency is
+// no longer capped by Tomcat's pool, so the Mongo pool becomes the limit and a short max wait makes
+// overload fail fast instead of queueing requests for the driver's default two minutes.
+@Configuration
+public class MongoClientConfig {
+
+    @Value("${mongo.pool.max-size:100}")
+    private int maxSize;
+
+    @Value("${mongo.pool.min-size:0}")
+    private int minSize;
+
+    @Value("${mongo.pool.max-connecting:4}")
+    private int maxConnecting;
+
+    @Value("${mongo.pool.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.tutorialapp.config;
+
+import com.example.tutorialapp.model.AuthorStats;
+import com.example.tutorialapp.model.BulkImportResult;
+import com.example.tutorialapp.model.CacheInvalidation;
+import com.example.tutorialapp.model.Comment;
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.IdempotencyRecord;
+import com.example.tutorialapp.model.LikeResult;
+import com.example.tutorialapp.model.Snippet;
+import com.example.tutorialapp.model.TagCount;
+import com.example.tutorialapp.model.TrendingScore;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialCounters;
+import com.example.tutorialapp.model.TutorialEvent;
+import com.example.tutorialapp.model.TutorialLike;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the native image (and for AOT runs on the JVM, where they are
+ * simply ignored). Spring AOT already covers beans, repositories and controller signatures; listed
+ * here is what it cannot see: Lombok models mapped by MongoConverter outside a repository (summary
+ * projections, aggregation results, the Redis L2 cache), types written with ObjectMapper directly, and
+ * the jjwt implementation classes that jjwt-api loads by name.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ApplicationHints.class)
+@RegisterReflectionForBinding({
+        AuthorStats.class, BulkImportResult.class, BulkImportResult.RecordError.class, CacheInvalidation.class,
+        Comment.class, CursorPage.class, IdempotencyRecord.class, LikeResult.class, Snippet.class,
+        TagCount.class, TrendingScore.class, Tutorial.class, TutorialCounters.class, TutorialEvent.class,
+        TutorialLike.class, TutorialPatch.class, TutorialSummary.class, User.class})
+public class NativeHintsConfig {
+
+    static class ApplicationHints implements RuntimeHintsRegistrar {
+
+        // Instantiated reflectively by io.jsonwebtoken.Jwts, Jwks and Keys
+        private static final String[] JJWT_IMPLEMENTATIONS = {
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+                "io.jsonwebtoken.impl.security.JwksBridge",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                // Found through META-INF/services
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            Stream.of(JJWT_IMPLEMENTATIONS).forEach(type -> hints.reflection().registerType(
+                    TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // The ingest log's line format, read and written with ObjectMapper
+            hints.reflection().registerType(
+                    TypeReference.of("com.example.tutorialapp.service.TutorialIngestService$LoggedCreate"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+
+            // Defaults loaded with @PropertySource
+            hints.resources().registerPattern("metrics.properties");
+            hints.resources().registerPattern("distributed.properties");
+        }
+    }
+}
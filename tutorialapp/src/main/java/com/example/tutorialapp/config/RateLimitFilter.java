@@ -0,0 +1,140 @@
+package com.example.tutorialapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user (or, for anonymous requests, per-IP) token buckets on the endpoints that cost Mongo the most:
+ * writes, bulk imports and searches. Runs right after JwtAuthenticationFilter so the JWT subject is known;
+ * reads of the feed and single tutorials are served from cache and are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String WRITE = "write";
+    static final String BULK = "bulk";
+    static final String SEARCH = "search";
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${ratelimit.write.capacity:30}")
+    private int writeCapacity;
+
+    @Value("${ratelimit.write.refill-per-second:1}")
+    private double writeRefill;
+
+    @Value("${ratelimit.bulk.capacity:3}")
+    private int bulkCapacity;
+
+    @Value("${ratelimit.bulk.refill-per-second:0.05}")
+    private double bulkRefill;
+
+    @Value("${ratelimit.search.capacity:60}")
+    private int searchCapacity;
+
+    @Value("${ratelimit.search.refill-per-second:5}")
+    private double searchRefill;
+
+    private RateLimiter writeLimiter;
+    private RateLimiter bulkLimiter;
+    private RateLimiter searchLimiter;
+
+    private MeterRegistry meterRegistry; // null until metrics are bound
+
+    @PostConstruct
+    void init() {
+        writeLimiter = new RateLimiter(writeCapacity, writeRefill, maxKeys, System::nanoTime);
+        bulkLimiter = new RateLimiter(bulkCapacity, bulkRefill, maxKeys, System::nanoTime);
+        searchLimiter = new RateLimiter(searchCapacity, searchRefill, maxKeys, System::nanoTime);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String group = enabled ? groupOf(request.getMethod(), request.getRequestURI()) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        // getRemoteAddr() honours X-Forwarded-For only when server.forward-headers-strategy trusts the proxy
+        String key = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+
+        long waitNanos = limiterFor(group).tryAcquire(key);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        recordRejection(group, authenticated);
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Rate limit exceeded; retry in " + retryAfterSeconds + "s");
+    }
+
+    static String groupOf(String method, String path) {
+        if (path == null || !path.startsWith("/api/")) {
+            return null;
+        }
+        if ("GET".equals(method)) {
+            return path.endsWith("/search") || path.equals("/api/tags/autocomplete") ? SEARCH : null;
+        }
+        if ("POST".equals(method) && path.equals("/api/tutorials/bulk")) {
+            return BULK;
+        }
+        if ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method)) {
+            return path.startsWith("/api/auth/") ? null : WRITE;
+        }
+        return null;
+    }
+
+    private RateLimiter limiterFor(String group) {
+        return switch (group) {
+            case BULK -> bulkLimiter;
+            case SEARCH -> searchLimiter;
+            default -> writeLimiter;
+        };
+    }
+
+    private void recordRejection(String group, boolean authenticated) {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            Counter.builder("ratelimit.rejected")
+                    .description("Requests answered with 429")
+                    .tag("group", group)
+                    .tag("client", authenticated ? "user" : "ip")
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.tutorialapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for one endpoint group, keyed by user or client IP. Each bucket is a single AtomicLong
+ * holding its theoretical arrival time (the GCRA form of a token bucket), so acquiring is one CAS with
+ * no locks; idle buckets expire out of the Caffeine map, which bounds memory for one-off clients.
+ */
+final class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    RateLimiter(int capacity, double refillPerSecond, long maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit needs capacity >= 1 and refill > 0");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        // A bucket idle for longer than a full refill is back at capacity, so forgetting it changes nothing
+        Duration idle = Duration.ofNanos(emissionIntervalNanos * capacity);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idle)
+                .build();
+        this.clock = nanoClock;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when the request may proceed, otherwise how many
+     * nanoseconds until a token becomes available.
+     */
+    long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = arrival.get();
+            long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -8,14 +8,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
-import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
-import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
-import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
-import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
@@ -41,6 +37,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -48,14 +47,16 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/oauth2/**", "/login/**", "/api/auth/**", "/api/tutorials", "/api/tutorials/search").permitAll()
+                .requestMatchers("/oauth2/**", "/login/**", "/api/auth/**", "/api/tutorials", "/api/tutorials/feed", "/api/tutorials/search", "/api/tutorials/trending", "/api/tutorials/events",
+                    "/api/reactive/tutorials", "/api/reactive/tutorials/search").permitAll()
+                .requestMatchers("/api/tags", "/api/tags/autocomplete").permitAll()
+                .requestMatchers("/api/authors/me", "/api/authors/me/**").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/authors/*", "/api/authors/*/tutorials").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
-                .userInfoEndpoint(userInfo -> userInfo
-                    .oidcUserService(oidcUserService())
-                    .userService(oauth2UserService())
-                )
+                // The user is upserted once per login, here; the default user info services only load attributes
                 .successHandler((request, response, authentication) -> {
                     logger.info("OAuth2 success handler triggered");
                     Object principal = authentication.getPrincipal();
@@ -82,36 +83,17 @@ public class SecurityConfig {
                     response.sendError(401, "OAuth2 authentication failed: " + exception.getMessage());
                 })
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
-    @Bean
-    public OAuth2UserService<OidcUserRequest, OidcUser> oidcUserService() {
-        final OidcUserService oidcUserService = new OidcUserService();
-        return userRequest -> {
-            OidcUser oidcUser = oidcUserService.loadUser(userRequest);
-            userService.processOAuth2User("google", oidcUser.getAttributes());
-            return oidcUser;
-        };
-    }
-
-    @Bean
-    public OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService() {
-        final DefaultOAuth2UserService oauth2UserService = new DefaultOAuth2UserService();
-        return userRequest -> {
-            OAuth2User oauth2User = oauth2UserService.loadUser(userRequest);
-            userService.processOAuth2User("github", oauth2User.getAttributes());
-            return oauth2User;
-        };
-    }
-
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,72 @@
+package com.example.tutorialapp.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async requests (SSE event streams, NDJSON feeds and exports) would otherwise be cut off by Tomcat's 30s
+ * default. The event stream recycles itself well within this limit.
+ *
+ * MVC writes every streamed element from its async executor, and a write to a client that is not reading
+ * blocks that thread. Boot's default executor has 8 threads, so a few slow readers would stall every stream
+ * in the app. Streams get their own larger pool instead, and a blocked write fails after
+ * http.async.write-timeout-ms, so at most http.async.max-threads slow clients are stalled at once and each
+ * for at most that long; elements for other streams queue behind them meanwhile. With the virtual-threads
+ * profile Boot's virtual-thread executor is kept, and only the write timeout bounds a slow client.
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer, DisposableBean {
+
+    @Value("${http.async.timeout-ms:600000}")
+    private long asyncTimeoutMs;
+
+    @Value("${http.async.max-threads:200}")
+    private int maxThreads;
+
+    @Value("${http.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Tomcat applies its connection timeout to blocking writes as well as to reads between requests
+    @Value("${http.async.write-timeout-ms:20000}")
+    private int writeTimeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    private ThreadPoolTaskExecutor streamExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+        if (virtualThreads) {
+            return;
+        }
+        streamExecutor = new ThreadPoolTaskExecutor();
+        streamExecutor.setThreadNamePrefix("mvc-stream-");
+        streamExecutor.setCorePoolSize(maxThreads);
+        streamExecutor.setMaxPoolSize(maxThreads);
+        streamExecutor.setAllowCoreThreadTimeOut(true);
+        streamExecutor.setQueueCapacity(queueCapacity);
+        streamExecutor.initialize();
+        configurer.setTaskExecutor(streamExecutor);
+    }
+
+    @Bean
+    public TomcatConnectorCustomizer writeTimeoutCustomizer() {
+        return connector -> connector.setProperty("connectionTimeout", String.valueOf(writeTimeoutMs));
+    }
+
+    @Override
+    public void destroy() {
+        if (streamExecutor != null) {
+            streamExecutor.shutdown();
+        }
+    }
+}
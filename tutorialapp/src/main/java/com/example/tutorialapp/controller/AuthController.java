@@ -2,13 +2,18 @@ package com.example.tutorialapp.controller;
 
 import com.example.tutorialapp.model.User;
 import com.example.tutorialapp.service.JwtService;
+import com.example.tutorialapp.service.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,9 +34,13 @@ public class AuthController {
     @Autowired
     private com.example.tutorialapp.service.UserService userService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @GetMapping("/success")
     public void authSuccess(@AuthenticationPrincipal Object principal, HttpServletResponse response) throws IOException {
         logger.info("Processing OAuth2 success callback");
+        // Normally answered from UserService's login cache, since the success handler already upserted this user
         User user = null;
         if (principal instanceof OidcUser) {
             logger.info("Processing Google user: {}", ((OidcUser) principal).getEmail());
@@ -59,10 +68,29 @@ public class AuthController {
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Authentication failed. Please try again.");
     }
 
+    // Revokes the bearer token on every instance until it would have expired
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            tokenRevocationService.revoke(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Already unusable: expired, malformed or not ours
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/user")
     public Map<String, Object> getCurrentUser(@AuthenticationPrincipal Object principal) {
         Map<String, Object> userInfo = new HashMap<>();
-        if (principal instanceof OidcUser) {
+        if (principal instanceof User) {
+            User user = (User) principal;
+            userInfo.put("email", user.getEmail());
+            userInfo.put("provider", user.getProvider());
+        } else if (principal instanceof OidcUser) {
             OidcUser oidcUser = (OidcUser) principal;
             userInfo.put("email", oidcUser.getEmail());
             userInfo.put("name", oidcUser.getFullName());
@@ -0,0 +1,24 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.User;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+// Resolves the user id (email) from any of the principals this app authenticates with
+final class AuthenticatedUser {
+
+    private AuthenticatedUser() {
+    }
+
+    static String idOf(Object principal) {
+        if (principal instanceof User) {
+            return ((User) principal).getEmail();
+        } else if (principal instanceof OidcUser) {
+            return ((OidcUser) principal).getEmail();
+        } else if (principal instanceof OAuth2User) {
+            OAuth2User oauth2User = (OAuth2User) principal;
+            return oauth2User.getAttribute("email") != null ? oauth2User.getAttribute("email") : oauth2User.getAttribute("login") + "@github.com";
+        }
+        throw new RuntimeException("User not authenticated");
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.AuthorStats;
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.service.AuthorStatsService;
+import com.example.tutorialapp.service.TutorialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+// Author-scoped views; "me" resolves to the authenticated user (the author dashboard)
+@RestController
+@RequestMapping("/api/authors")
+@CrossOrigin(origins = {"http://localhost:5173"})
+public class AuthorController {
+
+    private static final String ME = "me";
+
+    @Autowired
+    private TutorialService tutorialService;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @GetMapping("/{authorId}")
+    public AuthorStats getAuthor(@PathVariable String authorId, @AuthenticationPrincipal Object principal) {
+        return authorStatsService.getStats(resolve(authorId, principal));
+    }
+
+    @GetMapping("/{authorId}/tutorials")
+    public CursorPage<TutorialSummary> getAuthorTutorials(@PathVariable String authorId,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size,
+                                                          @AuthenticationPrincipal Object principal) {
+        return tutorialService.getAuthorTutorials(resolve(authorId, principal), after, size);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    private static String resolve(String authorId, Object principal) {
+        return ME.equals(authorId) ? AuthenticatedUser.idOf(principal) : authorId;
+    }
+}
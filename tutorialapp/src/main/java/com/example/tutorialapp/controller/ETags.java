@@ -0,0 +1,54 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Entity tags built from document ids, versions and engagement counters, so a 304 can be decided before anything is
+// serialized. They are weak because Tomcat will not gzip a response carrying a strong ETag, and
+// If-None-Match only ever uses weak comparison anyway.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Tutorial tutorial) {
+        return weak(tutorial.getId() + "." + versionOf(tutorial.getVersion())
+                + "." + tutorial.getLikes() + "." + tutorial.getCommentCount());
+    }
+
+    static String of(List<TutorialSummary> items, String nextCursor) {
+        MessageDigest digest = sha256();
+        for (TutorialSummary item : items) {
+            // Counters change without a version bump, so they are part of the tag
+            digest.update((item.getId() + "." + versionOf(item.getVersion()) + "." + item.getLikes()
+                    + "." + item.getCommentCount() + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        if (nextCursor != null) {
+            digest.update(nextCursor.getBytes(StandardCharsets.UTF_8));
+        }
+        // 128 bits is plenty to tell pages apart
+        return weak(HexFormat.of().formatHex(digest.digest(), 0, 16));
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version; // Documents written before versioning
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.service.ReactiveTutorialService;
+import com.example.tutorialapp.service.TutorialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Reactive-driver variant of /api/tutorials, still served by Spring MVC on Tomcat. Requests go through
+// the same security filter chain (and so the same JwtAuthenticationFilter). No request thread waits on
+// Mongo, but each streamed element is written from the bounded stream pool in WebMvcAsyncConfig, so
+// a client that stops reading ties up one of those threads until the write timeout.
+@RestController
+@RequestMapping("/api/reactive/tutorials")
+@CrossOrigin(origins = {"http://localhost:5173"})
+public class ReactiveTutorialController {
+
+    @Autowired
+    private ReactiveTutorialService reactiveTutorialService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TutorialSummary> streamTutorialFeed(@RequestParam(required = false) String after) {
+        return reactiveTutorialService.streamTutorialFeed(after);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TutorialSummary> searchTutorials(@RequestParam(required = false) String q,
+                                                 @RequestParam(required = false) List<String> tags,
+                                                 @RequestParam(defaultValue = "any") String match,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        if (!"any".equals(match) && !"all".equals(match)) {
+            throw new IllegalArgumentException("match must be 'any' or 'all'");
+        }
+        return reactiveTutorialService.searchTutorials(q, tags, "all".equals(match), page, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Tutorial> getTutorialById(@PathVariable String id) {
+        return reactiveTutorialService.getTutorialById(id);
+    }
+
+    @PostMapping
+    public Mono<Tutorial> createTutorial(@RequestBody Tutorial tutorial, @AuthenticationPrincipal Object principal) {
+        tutorial.setCreatorId(AuthenticatedUser.idOf(principal));
+        return reactiveTutorialService.createTutorial(tutorial);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Tutorial> updateTutorial(@PathVariable String id, @RequestBody Tutorial tutorial, @AuthenticationPrincipal Object principal) {
+        return reactiveTutorialService.patchTutorial(id, AuthenticatedUser.idOf(principal), TutorialPatch.from(tutorial));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<Tutorial> patchTutorial(@PathVariable String id, @RequestBody TutorialPatch patch, @AuthenticationPrincipal Object principal) {
+        return reactiveTutorialService.patchTutorial(id, AuthenticatedUser.idOf(principal), patch);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteTutorial(@PathVariable String id, @AuthenticationPrincipal Object principal) {
+        return reactiveTutorialService.deleteTutorial(id, AuthenticatedUser.idOf(principal));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
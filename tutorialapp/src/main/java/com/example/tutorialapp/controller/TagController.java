@@ -0,0 +1,50 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.TagCount;
+import com.example.tutorialapp.service.TagStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Tag cloud and autocomplete, answered entirely from TagStatistics
+@RestController
+@RequestMapping("/api/tags")
+@CrossOrigin(origins = {"http://localhost:5173"})
+public class TagController {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private TagStatistics tagStatistics;
+
+    @GetMapping
+    public List<TagCount> getTags(@RequestParam(defaultValue = "popular") String sort,
+                                  @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if ("popular".equals(sort)) {
+            return tagStatistics.popular(clampLimit(limit));
+        }
+        if ("recent".equals(sort)) {
+            return tagStatistics.trending(clampLimit(limit));
+        }
+        throw new IllegalArgumentException("sort must be 'popular' or 'recent'");
+    }
+
+    @GetMapping("/autocomplete")
+    public List<TagCount> autocomplete(@RequestParam(defaultValue = "") String prefix,
+                                       @RequestParam(defaultValue = "10") int limit) {
+        return tagStatistics.autocomplete(prefix, clampLimit(limit));
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
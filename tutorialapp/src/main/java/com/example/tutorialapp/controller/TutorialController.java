@@ -1,72 +1,248 @@
 package com.example.tutorialapp.controller;
 
+import com.example.tutorialapp.model.BulkImportResult;
+import com.example.tutorialapp.model.Comment;
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.LikeResult;
 import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialEvent;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.service.TutorialBulkService;
+import com.example.tutorialapp.service.TutorialEngagementService;
+import com.example.tutorialapp.service.TutorialEventService;
+import com.example.tutorialapp.service.TutorialIngestService;
 import com.example.tutorialapp.service.TutorialService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.core.oidc.user.OidcUser;
-import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/tutorials")
 @CrossOrigin(origins = {"http://localhost:5173"})
 public class TutorialController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private TutorialService tutorialService;
 
+    @Autowired
+    private TutorialBulkService tutorialBulkService;
+
+    @Autowired
+    private TutorialEngagementService engagementService;
+
+    @Autowired
+    private TutorialEventService eventService;
+
+    @Autowired
+    private TutorialIngestService ingestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tutorial.events.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${tutorial.events.max-connection-seconds:300}")
+    private long maxConnectionSeconds;
+
+    // 202 when the create is queued for write-behind; a retry with the same Idempotency-Key returns the same tutorial
     @PostMapping
-    public Tutorial createTutorial(@RequestBody Tutorial tutorial, @AuthenticationPrincipal Object principal) {
-        String userId = getUserId(principal);
+    public ResponseEntity<Tutorial> createTutorial(@RequestBody Tutorial tutorial, @AuthenticationPrincipal Object principal,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        String userId = AuthenticatedUser.idOf(principal);
         tutorial.setCreatorId(userId);
-        return tutorialService.createTutorial(tutorial);
+        TutorialIngestService.Result result = ingestService.create(tutorial, idempotencyKey);
+        if (result.pending()) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tutorials/" + result.tutorial().getId()))
+                    .body(result.tutorial());
+        }
+        return ResponseEntity.ok(result.tutorial());
     }
 
     @GetMapping
-    public List<Tutorial> getAllTutorials() {
-        return tutorialService.getAllTutorials();
+    public ResponseEntity<List<TutorialSummary>> getAllTutorials(@RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        // Kept for existing clients; only returns the first feed page instead of the whole collection
+        CursorPage<TutorialSummary> page = tutorialService.getTutorialFeed(null, size);
+        return conditional(ETags.of(page.getItems(), page.getNextCursor()), page.getItems());
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<TutorialSummary>> getTutorialFeed(@RequestParam(required = false) String after,
+                                                                       @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        CursorPage<TutorialSummary> page = tutorialService.getTutorialFeed(after, size);
+        return conditional(ETags.of(page.getItems(), page.getNextCursor()), page);
+    }
+
+    @GetMapping(value = "/feed", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTutorialFeed() {
+        return ndjson(tutorialService::streamAllTutorials);
+    }
+
+    // Live create/update/delete events. Heartbeats keep proxies from closing idle streams and reveal
+    // dead clients; connections are recycled periodically and EventSource reconnects on its own,
+    // sending the id of the last event it saw so the stream can tell it to resync if it missed any.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TutorialEvent>> streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Flux<ServerSentEvent<TutorialEvent>> events = eventService.subscribe(lastEventId)
+                .map(event -> ServerSentEvent.builder(event).id(eventService.idOf(event)).event(event.getType()).build());
+        Flux<ServerSentEvent<TutorialEvent>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<TutorialEvent>builder().comment("ping").build());
+        return Flux.merge(events, heartbeats)
+                .take(Duration.ofSeconds(maxConnectionSeconds));
+    }
+
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    public BulkImportResult importTutorials(HttpServletRequest request, @AuthenticationPrincipal Object principal) throws IOException {
+        return tutorialBulkService.importTutorials(request.getInputStream(), AuthenticatedUser.idOf(principal));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTutorials() {
+        return ndjson(tutorialBulkService::exportTutorials);
     }
 
     @GetMapping("/search")
-    public List<Tutorial> searchTutorialsByTag(@RequestParam String tag) {
-        return tutorialService.searchTutorialsByTag(tag);
+    public List<TutorialSummary> searchTutorials(@RequestParam(required = false) String q,
+                                                 @RequestParam(required = false) List<String> tags,
+                                                 @RequestParam(required = false) String tag,
+                                                 @RequestParam(defaultValue = "any") String match,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        if (!"any".equals(match) && !"all".equals(match)) {
+            throw new IllegalArgumentException("match must be 'any' or 'all'");
+        }
+        List<String> allTags = new ArrayList<>();
+        if (tags != null) {
+            allTags.addAll(tags);
+        }
+        if (tag != null) {
+            allTags.add(tag); // Single-tag parameter kept for existing clients
+        }
+        return tutorialService.searchTutorials(q, allTags, "all".equals(match), page, size);
+    }
+
+    // Ranked by recent views, edits, likes and comments; the ranking is refreshed in the background
+    @GetMapping("/trending")
+    public ResponseEntity<List<TutorialSummary>> getTrending(@RequestParam(required = false) String tag,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        List<TutorialSummary> tutorials = tutorialService.getTrending(tag, page, size);
+        return conditional(ETags.of(tutorials, null), tutorials);
     }
 
     @DeleteMapping("/{id}")
     public void deleteTutorial(@PathVariable String id, @AuthenticationPrincipal Object principal) {
-        String userId = getUserId(principal);
-        Tutorial tutorial = tutorialService.getTutorialById(id);
-        if (!tutorial.getCreatorId().equals(userId)) {
-            throw new RuntimeException("Unauthorized to delete this tutorial");
-        }
-        tutorialService.deleteTutorial(id);
+        tutorialService.deleteTutorial(id, AuthenticatedUser.idOf(principal));
     }
 
     @PutMapping("/{id}")
     public Tutorial updateTutorial(@PathVariable String id, @RequestBody Tutorial tutorial, @AuthenticationPrincipal Object principal) {
-        String userId = getUserId(principal);
-        Tutorial existingTutorial = tutorialService.getTutorialById(id);
-        if (!existingTutorial.getCreatorId().equals(userId)) {
-            throw new RuntimeException("Unauthorized to update this tutorial");
-        }
-        return tutorialService.updateTutorial(id, tutorial);
+        // Same single conditional update as PATCH; creatorId is never taken from the body
+        return tutorialService.patchTutorial(id, AuthenticatedUser.idOf(principal), TutorialPatch.from(tutorial));
     }
 
-    @GetMapping("/{id}")
-    public Tutorial getTutorialById(@PathVariable String id) {
-        return tutorialService.getTutorialById(id);
+    @PatchMapping("/{id}")
+    public Tutorial patchTutorial(@PathVariable String id, @RequestBody TutorialPatch patch, @AuthenticationPrincipal Object principal) {
+        return tutorialService.patchTutorial(id, AuthenticatedUser.idOf(principal), patch);
     }
 
-    private String getUserId(Object principal) {
-        if (principal instanceof OidcUser) {
-            return ((OidcUser) principal).getEmail();
-        } else if (principal instanceof OAuth2User) {
-            OAuth2User oauth2User = (OAuth2User) principal;
-            return oauth2User.getAttribute("email") != null ? oauth2User.getAttribute("email") : oauth2User.getAttribute("login") + "@github.com";
+    @GetMapping("/{id}")
+    public ResponseEntity<Tutorial> getTutorialById(@PathVariable String id) {
+        // A create answered with 202 is served from the write-behind queue until the writer has inserted it
+        Tutorial tutorial = ingestService.getPending(id);
+        if (tutorial == null) {
+            tutorial = tutorialService.getTutorialById(id);
         }
-        throw new RuntimeException("User not authenticated");
+        return conditional(ETags.of(tutorial), tutorial);
+    }
+
+    @PostMapping("/{id}/like")
+    public LikeResult likeTutorial(@PathVariable String id, @AuthenticationPrincipal Object principal) {
+        return engagementService.like(id, AuthenticatedUser.idOf(principal));
+    }
+
+    @DeleteMapping("/{id}/like")
+    public LikeResult unlikeTutorial(@PathVariable String id, @AuthenticationPrincipal Object principal) {
+        return engagementService.unlike(id, AuthenticatedUser.idOf(principal));
+    }
+
+    @PostMapping("/{id}/comment")
+    public Comment addComment(@PathVariable String id, @RequestBody Comment comment, @AuthenticationPrincipal Object principal) {
+        // Only the text is taken from the body
+        return engagementService.addComment(id, AuthenticatedUser.idOf(principal), comment.getText());
+    }
+
+    @GetMapping("/{id}/comments")
+    public CursorPage<Comment> getComments(@PathVariable String id,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(defaultValue = "" + TutorialService.DEFAULT_PAGE_SIZE) int size) {
+        return engagementService.getComments(id, after, size);
+    }
+
+    // Spring answers 304 without serializing the body when If-None-Match matches the tag; no-cache
+    // makes browsers revalidate on every load instead of reusing a stale copy
+    private static <T> ResponseEntity<T> conditional(String eTag, T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    // Writes each element as one JSON line while the source's Mongo cursor is still open
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                source.accept(item -> {
+                    try {
+                        objectMapper.writeValue(generator, item);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleBackpressure(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Per-author counters kept with $inc on every create and delete; _id is the creatorId
+@Document(collection = "author_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorStats {
+    @Id
+    private String id;
+    private long tutorialCount;
+}
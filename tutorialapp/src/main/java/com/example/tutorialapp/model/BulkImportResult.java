@@ -0,0 +1,24 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResult {
+    private long received;
+    private long inserted;
+    private long failed;
+    private List<RecordError> errors = new ArrayList<>(); // Capped; failed holds the full count
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        private long line;
+        private String message;
+    }
+}
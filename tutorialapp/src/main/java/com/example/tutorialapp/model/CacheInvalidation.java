@@ -0,0 +1,22 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Broadcast after a write so other instances drop the local cache entries it made stale
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+    public static final String TUTORIAL_CREATED = "tutorial-created";
+    public static final String TUTORIAL_CHANGED = "tutorial-changed";
+    public static final String USER_CHANGED = "user-changed";
+
+    private String type;
+    private String id; // Tutorial id or user email; null for creations
+    private List<String> tags; // Tags before and after the write, for tag-search eviction
+    private String origin; // Instance that published it, so it can ignore its own messages
+}
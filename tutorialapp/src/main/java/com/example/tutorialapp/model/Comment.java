@@ -0,0 +1,22 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Comments live in their own collection so a busy tutorial never grows an unbounded embedded array;
+// the index serves both keyset-paginated reads and the delete-by-tutorial cleanup
+@Document(collection = "comments")
+@CompoundIndex(name = "tutorialId_id", def = "{'tutorialId': 1, '_id': 1}")
+@Data
+public class Comment {
+    @Id
+    private String id;
+    private String tutorialId;
+    private String authorId;
+    private String text;
+    private Instant createdAt;
+}
@@ -0,0 +1,24 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Claims an Idempotency-Key for one tutorial id; _id is "<creatorId>:<key>", so the claim is a plain insert
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    private String id;
+    private String tutorialId;
+    private String fingerprint; // Hash of the request fields, to catch a key reused for a different request
+    @Indexed(expireAfter = "1d")
+    private Instant createdAt;
+}
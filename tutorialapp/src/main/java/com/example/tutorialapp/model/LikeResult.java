@@ -0,0 +1,14 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeResult {
+    private String tutorialId;
+    private long likes;
+    private boolean liked; // Whether the calling user now likes the tutorial
+}
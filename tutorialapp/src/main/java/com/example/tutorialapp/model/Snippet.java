@@ -0,0 +1,20 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A large code snippet stored once per distinct content; _id is the SHA-256 of its UTF-8 bytes
+@Document(collection = "snippets")
+@Data
+@NoArgsConstructor
+public class Snippet {
+    @Id
+    private String id;
+    private byte[] data; // Deflate-compressed UTF-8
+    private int size; // Uncompressed bytes
+    private Instant storedAt; // Last time a write referenced it; the sweep never removes recent ones
+}
@@ -0,0 +1,14 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCount {
+    private String tag;
+    private long count; // Tutorials carrying the tag
+    private double activity; // Recent tagging activity, decayed over time; only meaningful for ranking
+}
@@ -0,0 +1,25 @@
+package com.example.tutorialapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+// Snapshot of one ranked tutorial's trending score, so a restarted instance serves a warm ranking; _id is the tutorial id
+@Document(collection = "trending_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+    @Id
+    private String id;
+    @Indexed
+    private double score; // log2 of the decayed activity relative to a fixed epoch, so it never needs rewriting as time passes
+    private List<String> tags;
+    private Instant snapshotAt;
+}
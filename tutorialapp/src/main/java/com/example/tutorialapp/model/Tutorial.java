@@ -1,19 +1,48 @@
 package com.example.tutorialapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
 @Document(collection = "tutorials")
+@CompoundIndex(name = "tags_id", def = "{'tags': 1, '_id': -1}")
+@CompoundIndex(name = "creatorId_id", def = "{'creatorId': 1, '_id': -1}")
 @Data
+@NoArgsConstructor // The constructor Spring Data and Jackson use
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true) // toBuilder() copies every field, including ones added later
 public class Tutorial {
     @Id
     private String id;
+    @TextIndexed(weight = 5)
     private String title;
+    @TextIndexed(weight = 2)
     private String description;
-    private String codeSnippet;
+    @TextIndexed
+    private String codeSnippet; // Only the leading characters when snippetRef is set
+    // Hash of the full snippet in the snippets collection when it is too large to keep inline
+    @Indexed(sparse = true)
+    @JsonIgnore
+    private String snippetRef;
     private List<String> tags;
     private String creatorId; // New field to track post creator
-}
\ No newline at end of file
+    @Version
+    private Long version; // Incremented by every update; used for optimistic concurrency
+    // Counters maintained with $inc by TutorialEngagementService; never taken from request bodies
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long likes;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long commentCount;
+}
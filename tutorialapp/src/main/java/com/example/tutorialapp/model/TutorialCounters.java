@@ -0,0 +1,13 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+
+// The engagement counters of a tutorial document. Deliberately not versioned: mapping counter updates
+// through Tutorial would make MongoTemplate bump @Version, and every like would then fail
+// concurrent edits with a 409.
+@Data
+public class TutorialCounters {
+    private String id;
+    private long likes;
+    private long commentCount;
+}
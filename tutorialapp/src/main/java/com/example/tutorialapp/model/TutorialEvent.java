@@ -0,0 +1,27 @@
+package com.example.tutorialapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TutorialEvent {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    // Events were lost (dropped for a slow client, or missed while reconnecting); reload instead of patching
+    public static final String RESYNC = "resync";
+
+    private String type;
+    private String id;
+    private TutorialSummary tutorial; // null for deletions
+    @JsonIgnore
+    private long sequence; // Position in this instance's event stream; sent as the SSE id
+
+    public TutorialEvent(String type, String id, TutorialSummary tutorial) {
+        this.type = type;
+        this.id = id;
+        this.tutorial = tutorial;
+    }
+}
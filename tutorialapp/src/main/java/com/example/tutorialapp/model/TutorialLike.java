@@ -0,0 +1,28 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// One document per (tutorial, user); the unique index is what stops a user from liking twice
+@Document(collection = "tutorial_likes")
+@CompoundIndex(name = "tutorialId_userId", def = "{'tutorialId': 1, 'userId': 1}", unique = true)
+@Data
+@NoArgsConstructor
+public class TutorialLike {
+    @Id
+    private String id;
+    private String tutorialId;
+    private String userId;
+    private Instant createdAt;
+
+    public TutorialLike(String tutorialId, String userId, Instant createdAt) {
+        this.tutorialId = tutorialId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Partial update of a Tutorial: null fields are left unchanged. When version is set the update only
+// applies if the stored document still has that version.
+@Data
+public class TutorialPatch {
+    private String title;
+    private String description;
+    private String codeSnippet;
+    private List<String> tags;
+    private Long version;
+
+    public static TutorialPatch from(Tutorial tutorial) {
+        TutorialPatch patch = new TutorialPatch();
+        patch.setTitle(tutorial.getTitle());
+        patch.setDescription(tutorial.getDescription());
+        patch.setCodeSnippet(tutorial.getCodeSnippet());
+        patch.setTags(tutorial.getTags());
+        patch.setVersion(tutorial.getVersion());
+        return patch;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tutorialapp.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Lightweight list view of a Tutorial; codeSnippet is never loaded from Mongo
+@Data
+public class TutorialSummary {
+    // Longer descriptions are cut to this many code points and end in "..."
+    public static final int DESCRIPTION_LENGTH = 200;
+
+    private String id;
+    private String title;
+    private String description; // Shortened by Mongo for list views
+    private List<String> tags;
+    private String creatorId;
+    private Long version; // Lets list responses carry an ETag that changes when any item is edited
+    private long likes;
+    private long commentCount;
+}
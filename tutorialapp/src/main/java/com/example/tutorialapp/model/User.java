@@ -2,6 +2,8 @@ package com.example.tutorialapp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,11 +12,14 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Document(collection = "users")
+// One user per provider account; login upserts match on this pair
+@CompoundIndex(name = "provider_providerId", def = "{'provider': 1, 'providerId': 1}", unique = true)
 @Data
 public class User implements UserDetails {
 
     @Id
     private String id;
+    @Indexed // Not unique: the same address can sign in through both providers
     private String email;
     private String name;
     private String provider;
@@ -0,0 +1,15 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface CommentRepository extends MongoRepository<Comment, String> {
+    // Keyset pagination over _id within one tutorial, oldest first
+    List<Comment> findByTutorialIdOrderByIdAsc(String tutorialId, Limit limit);
+    List<Comment> findByTutorialIdAndIdGreaterThanOrderByIdAsc(String tutorialId, String id, Limit limit);
+
+    void deleteByTutorialId(String tutorialId);
+}
@@ -0,0 +1,8 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.Tutorial;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// Non-blocking counterpart of TutorialRepository
+public interface ReactiveTutorialRepository extends ReactiveMongoRepository<Tutorial, String>, ReactiveTutorialRepositoryCustom {
+}
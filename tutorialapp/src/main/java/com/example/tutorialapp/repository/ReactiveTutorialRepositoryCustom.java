@@ -0,0 +1,15 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.TutorialSummary;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+// Same summaries as TutorialRepositoryCustom, with the description shortened by Mongo
+public interface ReactiveTutorialRepositoryCustom {
+    // The whole feed after afterId (or from the start when null), oldest first
+    Flux<TutorialSummary> streamFeed(String afterId);
+
+    // Same semantics as TutorialRepositoryCustom.search
+    Flux<TutorialSummary> search(String text, List<String> tags, boolean matchAll, int page, int size);
+}
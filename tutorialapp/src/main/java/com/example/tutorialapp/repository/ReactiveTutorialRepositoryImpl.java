@@ -0,0 +1,29 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.TutorialSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public class ReactiveTutorialRepositoryImpl implements ReactiveTutorialRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Results are pulled from the cursor as subscribers request them
+    @Override
+    public Flux<TutorialSummary> streamFeed(String afterId) {
+        return reactiveMongoTemplate.aggregate(
+                TutorialSummaryQuery.withBatchSize(TutorialSummaryQuery.feed(afterId, Limit.unlimited()), 100),
+                TutorialSummary.class);
+    }
+
+    @Override
+    public Flux<TutorialSummary> search(String text, List<String> tags, boolean matchAll, int page, int size) {
+        return reactiveMongoTemplate.aggregate(TutorialSummaryQuery.search(text, tags, matchAll, page, size),
+                TutorialSummary.class);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.TutorialLike;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TutorialLikeRepository extends MongoRepository<TutorialLike, String> {
+    long deleteByTutorialIdAndUserId(String tutorialId, String userId);
+
+    void deleteByTutorialId(String tutorialId);
+}
@@ -1,10 +1,14 @@
 package com.example.tutorialapp.repository;
 
 import com.example.tutorialapp.model.Tutorial;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
-public interface TutorialRepository extends MongoRepository<Tutorial, String> {
-    List<Tutorial> findByTagsContaining(String tag);
-}
\ No newline at end of file
+// Full documents; the list views (feed, author pages, trending, search) live in TutorialRepositoryCustom
+public interface TutorialRepository extends MongoRepository<Tutorial, String>, TutorialRepositoryCustom {
+    // Backed by an open Mongo cursor; callers must close the stream
+    @Meta(cursorBatchSize = 500)
+    <T> Stream<T> streamAllByOrderByIdAsc(Class<T> type);
+}
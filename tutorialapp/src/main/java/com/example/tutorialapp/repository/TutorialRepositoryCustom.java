@@ -0,0 +1,32 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.TutorialSummary;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// List views; every method returns summaries whose description Mongo has already shortened
+public interface TutorialRepositoryCustom {
+    // Keyset pagination over _id for the feed; afterId is null for the first page
+    List<TutorialSummary> findFeedPage(String afterId, Limit limit);
+
+    // Keyset pagination over one author's posts, newest first; beforeId is null for the first page
+    List<TutorialSummary> findAuthorPage(String creatorId, String beforeId, Limit limit);
+
+    // One page of ranked ids (trending); the order is the caller's to restore
+    List<TutorialSummary> findSummariesByIdIn(Collection<String> ids);
+
+    // Backed by an open Mongo cursor; callers must close the stream
+    Stream<TutorialSummary> streamSummaries();
+
+    /**
+     * Full-text and tag search. Text matches are ranked by relevance, tag-only searches newest first.
+     *
+     * @param text     words to match against the text index, or null for tag-only search
+     * @param tags     tags to filter by, or empty for no tag filter
+     * @param matchAll true to require every tag, false to match any of them
+     */
+    List<TutorialSummary> search(String text, List<String> tags, boolean matchAll, int page, int size);
+}
@@ -0,0 +1,48 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.TutorialSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TutorialRepositoryImpl implements TutorialRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<TutorialSummary> findFeedPage(String afterId, Limit limit) {
+        return summaries(TutorialSummaryQuery.feed(afterId, limit));
+    }
+
+    @Override
+    public List<TutorialSummary> findAuthorPage(String creatorId, String beforeId, Limit limit) {
+        return summaries(TutorialSummaryQuery.byCreator(creatorId, beforeId, limit));
+    }
+
+    @Override
+    public List<TutorialSummary> findSummariesByIdIn(Collection<String> ids) {
+        return summaries(TutorialSummaryQuery.byIds(ids));
+    }
+
+    @Override
+    public Stream<TutorialSummary> streamSummaries() {
+        return mongoTemplate.aggregateStream(
+                TutorialSummaryQuery.withBatchSize(TutorialSummaryQuery.feed(null, Limit.unlimited()), 500),
+                TutorialSummary.class);
+    }
+
+    @Override
+    public List<TutorialSummary> search(String text, List<String> tags, boolean matchAll, int page, int size) {
+        return summaries(TutorialSummaryQuery.search(text, tags, matchAll, page, size));
+    }
+
+    private List<TutorialSummary> summaries(TypedAggregation<?> aggregation) {
+        return mongoTemplate.aggregate(aggregation, TutorialSummary.class).getMappedResults();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.tutorialapp.repository;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import org.bson.Document;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Summary reads shared by the blocking and reactive repositories. They run as aggregations rather than
+ * finds because a find projection cannot shorten a field: the last stage cuts the description to
+ * TutorialSummary.DESCRIPTION_LENGTH code points on the server, so list responses never pull whole
+ * descriptions out of Mongo. Typed on Tutorial so String ids in criteria are matched as ObjectIds.
+ */
+final class TutorialSummaryQuery {
+
+    private static final int LENGTH = TutorialSummary.DESCRIPTION_LENGTH;
+
+    // description longer than LENGTH ? first LENGTH code points + "..." : description (null stays null)
+    private static final AggregationExpression SHORT_DESCRIPTION = context -> new Document("$cond", List.of(
+            new Document("$gt", List.of(new Document("$strLenCP", new Document("$ifNull", List.of("$description", ""))), LENGTH)),
+            new Document("$concat", List.of(new Document("$substrCP", List.of("$description", 0, LENGTH)), "...")),
+            "$description"));
+
+    private static final AggregationOperation SORT_BY_SCORE =
+            context -> new Document("$sort", new Document("score", new Document("$meta", "textScore")));
+
+    private TutorialSummaryQuery() {
+    }
+
+    // Keyset page of the feed, oldest first
+    static TypedAggregation<Tutorial> feed(String afterId, Limit limit) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (afterId != null) {
+            operations.add(Aggregation.match(Criteria.where("_id").gt(afterId)));
+        }
+        operations.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        return summaries(operations, limit);
+    }
+
+    // Keyset page of one author's posts, newest first, on the creatorId_id index
+    static TypedAggregation<Tutorial> byCreator(String creatorId, String beforeId, Limit limit) {
+        Criteria criteria = Criteria.where("creatorId").is(creatorId);
+        if (beforeId != null) {
+            criteria = criteria.and("_id").lt(beforeId);
+        }
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(criteria));
+        operations.add(Aggregation.sort(Sort.Direction.DESC, "_id"));
+        return summaries(operations, limit);
+    }
+
+    // In no particular order
+    static TypedAggregation<Tutorial> byIds(Collection<String> ids) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(Criteria.where("_id").in(ids)));
+        return summaries(operations, Limit.unlimited());
+    }
+
+    static TypedAggregation<Tutorial> search(String text, List<String> tags, boolean matchAll, int page, int size) {
+        boolean textSearch = text != null && !text.isBlank();
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (textSearch) {
+            // $text has to be in the first stage
+            operations.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+        }
+        if (tags != null && !tags.isEmpty()) {
+            operations.add(Aggregation.match(matchAll ? Criteria.where("tags").all(tags) : Criteria.where("tags").in(tags)));
+        }
+        operations.add(textSearch ? SORT_BY_SCORE : Aggregation.sort(Sort.Direction.DESC, "_id"));
+        operations.add(Aggregation.skip((long) page * size));
+        return summaries(operations, Limit.of(size));
+    }
+
+    static TypedAggregation<Tutorial> withBatchSize(TypedAggregation<Tutorial> aggregation, int batchSize) {
+        return aggregation.withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+    }
+
+    private static TypedAggregation<Tutorial> summaries(List<AggregationOperation> operations, Limit limit) {
+        if (limit.isLimited()) {
+            operations.add(Aggregation.limit(limit.max()));
+        }
+        operations.add(Aggregation.project("title", "tags", "creatorId", "version", "likes", "commentCount")
+                .and(SHORT_DESCRIPTION).as("description"));
+        return Aggregation.newAggregation(Tutorial.class, operations);
+    }
+}
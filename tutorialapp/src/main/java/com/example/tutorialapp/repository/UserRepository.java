@@ -7,5 +7,4 @@ import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
-    Optional<User> findByProviderAndProviderId(String provider, String providerId);
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.AuthorStats;
+import com.example.tutorialapp.model.Tutorial;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-author tutorial counts. Every create upserts a $inc on the author's document and every delete
+ * decrements it, so reads are a single lookup by _id. A periodic aggregation over the creatorId_id
+ * index recounts everything (its first run backfills authors who posted before the counter existed)
+ * and corrects drift from failed writes, the same way TagStatistics is reconciled.
+ */
+@Service
+public class AuthorStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorStatsService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Read-only: an author without a document yet (not reconciled, or unknown) is counted live but not stored
+    public AuthorStats getStats(String creatorId) {
+        AuthorStats stats = mongoTemplate.findById(creatorId, AuthorStats.class);
+        if (stats != null) {
+            return stats;
+        }
+        long count = mongoTemplate.count(Query.query(Criteria.where("creatorId").is(creatorId)), Tutorial.class);
+        return new AuthorStats(creatorId, count);
+    }
+
+    public void onCreated(Collection<Tutorial> created) {
+        Map<String, Long> perAuthor = created.stream()
+                .filter(tutorial -> tutorial.getCreatorId() != null)
+                .collect(Collectors.groupingBy(Tutorial::getCreatorId, Collectors.counting()));
+        perAuthor.forEach((creatorId, count) ->
+                mongoTemplate.upsert(byAuthor(creatorId), increment(count), AuthorStats.class));
+    }
+
+    // Not an upsert: without a document the live count is already right, and a lone -1 would not be
+    public void onDeleted(String creatorId) {
+        if (creatorId != null) {
+            mongoTemplate.updateFirst(byAuthor(creatorId), increment(-1), AuthorStats.class);
+        }
+    }
+
+    /** Recounts every author's tutorials and replaces the stored counts; authors with none left are removed. */
+    @Scheduled(initialDelayString = "${tutorial.authors.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${tutorial.authors.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("creatorId").ne(null)),
+                Aggregation.group("creatorId").count().as("count")
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            for (Document result : mongoTemplate.aggregate(aggregation, Tutorial.class, Document.class).getMappedResults()) {
+                counts.put(result.getString("_id"), ((Number) result.get("count")).longValue());
+            }
+            List<String> stale = new ArrayList<>();
+            for (AuthorStats stats : mongoTemplate.findAll(AuthorStats.class)) {
+                if (!counts.containsKey(stats.getId())) {
+                    stale.add(stats.getId());
+                }
+            }
+            if (!counts.isEmpty()) {
+                BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuthorStats.class);
+                counts.forEach((creatorId, count) ->
+                        bulkOps.upsert(byAuthor(creatorId), new Update().set("tutorialCount", count)));
+                bulkOps.execute();
+            }
+            if (!stale.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").in(stale)), AuthorStats.class);
+            }
+            logger.info("Reconciled author stats: {} authors, {} removed", counts.size(), stale.size());
+        } catch (RuntimeException e) {
+            logger.error("Author stats reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private static Query byAuthor(String creatorId) {
+        return Query.query(Criteria.where("_id").is(creatorId));
+    }
+
+    private static Update increment(long delta) {
+        return new Update().inc("tutorialCount", delta);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CacheInvalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Cache tier shared by every instance, sitting between the per-node Caffeine caches and Mongo, plus the
+ * channel instances use to tell each other which local entries a write made stale. Implementations are
+ * best effort: a failing backend behaves like a cache miss and never fails the request.
+ */
+public interface DistributedCache {
+
+    <T> T get(String key, Class<T> type);
+
+    // Only fills a missing entry; never replaces a stored value or an invalidation that is still held
+    void putIfAbsent(String key, Object value);
+
+    /**
+     * Drops the entry and holds it invalid for a short while, so a reader that loaded the old value before
+     * the write cannot put it back afterwards.
+     */
+    void evict(String key);
+
+    void publish(CacheInvalidation invalidation);
+
+    // Listeners only see invalidations published by other instances
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,28 @@
+package com.example.tutorialapp.service;
+
+import org.bson.types.ObjectId;
+
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the tutorial feed. The cursor wraps the last
+ * {@code _id} a client has seen so the next page can resume with {@code _id > cursor}.
+ */
+public final class FeedCursor {
+
+    private FeedCursor() {
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(new ObjectId(id).toByteArray());
+    }
+
+    public static String decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            return new ObjectId(bytes).toHexString();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tutorialapp.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Single-instance deployments; revocations do not survive a restart
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final Clock clock;
+
+    public InMemoryTokenRevocationStore() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryTokenRevocationStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void revoke(String tokenHash, Instant expiresAt) {
+        revoked.put(tokenHash, expiresAt);
+        listeners.forEach(listener -> listener.accept(tokenHash));
+    }
+
+    @Override
+    public boolean isRevoked(String tokenHash) {
+        Instant expiresAt = revoked.get(tokenHash);
+        return expiresAt != null && expiresAt.isAfter(clock.instant());
+    }
+
+    @Override
+    public Set<String> revokedTokens() {
+        Instant now = clock.instant();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        return revoked.keySet().stream().collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
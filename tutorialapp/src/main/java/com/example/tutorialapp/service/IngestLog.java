@@ -0,0 +1,175 @@
+package com.example.tutorialapp.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of accepted records, one line each, split into numbered segment files. A checkpoint
+ * file records how far the consumer has durably processed; segments wholly before it are deleted.
+ * Appends must be serialized by the caller (the log's order is the processing order), but sync() may
+ * be called concurrently: each call waits for one fsync covering every append before it, so
+ * concurrent writers share flushes.
+ */
+final class IngestLog implements Closeable {
+
+    record Position(long segment, long offset) {
+    }
+
+    record Entry(String line, Position end) {
+    }
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final Object forceLock = new Object();
+
+    private volatile FileChannel channel;
+    private long segment;
+    private long segmentSize;
+    private volatile long appended; // Bytes appended since open, across segments
+    private long forced; // Guarded by forceLock
+
+    IngestLog(Path dir, long segmentBytes) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * Reads every record after the checkpoint, then opens a fresh segment for appends so a record torn
+     * by a crash is never continued. Lines without their trailing newline are such torn records.
+     */
+    List<Entry> open() throws IOException {
+        Position checkpoint = readCheckpoint();
+        List<Entry> entries = new ArrayList<>();
+        long last = checkpoint.segment();
+        for (long seq : segments()) {
+            last = Math.max(last, seq);
+            if (seq >= checkpoint.segment()) {
+                readSegment(seq, seq == checkpoint.segment() ? checkpoint.offset() : 0, entries);
+            }
+        }
+        openSegment(last + 1);
+        return entries;
+    }
+
+    Position append(String line) throws IOException {
+        if (segmentSize >= segmentBytes) {
+            synchronized (forceLock) {
+                channel.force(false);
+                forced = appended;
+                channel.close();
+                openSegment(segment + 1);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        segmentSize += length;
+        appended += length;
+        return new Position(segment, segmentSize);
+    }
+
+    // Blocks until everything appended so far is on disk
+    void sync() throws IOException {
+        long target = appended;
+        synchronized (forceLock) {
+            if (forced >= target) {
+                return; // Another caller's fsync already covered it
+            }
+            long covering = appended;
+            channel.force(false);
+            forced = covering;
+        }
+    }
+
+    // Everything up to and including the record ending at this position has been processed
+    void commit(Position position) throws IOException {
+        Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(tmp, position.segment() + " " + position.offset(), StandardCharsets.UTF_8);
+        try (FileChannel file = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            file.force(true);
+        }
+        Files.move(tmp, dir.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (long seq : segments()) {
+            if (seq < position.segment()) {
+                Files.deleteIfExists(segmentPath(seq));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private void openSegment(long seq) throws IOException {
+        channel = FileChannel.open(segmentPath(seq), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segment = seq;
+        segmentSize = channel.size();
+    }
+
+    private void readSegment(long seq, long from, List<Entry> entries) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segmentPath(seq)))) {
+            in.skipNBytes(Math.min(from, Files.size(segmentPath(seq))));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = from;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b == '\n') {
+                    entries.add(new Entry(line.toString(StandardCharsets.UTF_8), new Position(seq, offset)));
+                    line.reset();
+                } else {
+                    line.write(b);
+                }
+            }
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = dir.resolve(CHECKPOINT);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+        return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long seq) {
+        return dir.resolve(String.format("%020d%s", seq, SEGMENT_SUFFIX));
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.tutorialapp.service;
 
+import com.example.tutorialapp.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_PROVIDER = "provider";
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -23,6 +40,32 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by SHA-256 of the token, each entry expiring at the token's exp; null when disabled
+    private Cache<String, Claims> verifiedTokens;
+
+    // Signature verification only (cache hits are not timed); null until metrics are bound
+    private Timer verifyTimer;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        if (cacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new ClaimsExpiry())
+                    .recordStats()
+                    .build();
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,41 +76,118 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            // Enough identity for the filter to build the principal without a user lookup
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_PROVIDER, user.getProvider());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(extraClaims)
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean hasUserClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public User userFromClaims(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(CLAIM_USER_ID, String.class));
+        user.setEmail(claims.getSubject());
+        user.setProvider(claims.get(CLAIM_PROVIDER, String.class));
+        return user;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token signature and returns its claims. Tokens that were already verified are
+     * served from the cache until they expire, so repeat requests skip the HMAC check entirely.
+     */
+    public Claims extractAllClaims(String token) {
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+        String key = hashToken(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims != null && !isTokenExpired(claims)) {
+            return claims;
+        }
+        claims = verify(token);
+        verifiedTokens.put(key, claims);
+        return claims;
     }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and claims parsing")
+                .register(registry);
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verifiedTokens");
+        }
+    }
+
+    public long getCacheHitCount() {
+        return verifiedTokens == null ? 0 : verifiedTokens.stats().hitCount();
+    }
+
+    public long getCacheMissCount() {
+        return verifiedTokens == null ? 0 : verifiedTokens.stats().missCount();
+    }
+
+    private Claims verify(String token) {
+        Timer timer = verifyTimer;
+        if (timer == null) {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        }
+        return timer.record(() -> jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    // Also the key revocations are stored under
+    static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
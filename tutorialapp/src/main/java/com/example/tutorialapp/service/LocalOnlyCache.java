@@ -0,0 +1,30 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CacheInvalidation;
+
+import java.util.function.Consumer;
+
+// Single-instance deployments: no shared tier and nobody to notify
+public class LocalOnlyCache implements DistributedCache {
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        return null;
+    }
+
+    @Override
+    public void putIfAbsent(String key, Object value) {
+    }
+
+    @Override
+    public void evict(String key) {
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+    }
+}
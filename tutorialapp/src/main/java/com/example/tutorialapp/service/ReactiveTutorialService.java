@@ -0,0 +1,119 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.repository.ReactiveTutorialRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Non-blocking variant of TutorialService backed by the reactive Mongo driver. Writes run the same
+// after-write hooks as TutorialService, on boundedElastic, so the blocking API never serves stale entries.
+@Service
+public class ReactiveTutorialService {
+
+    @Autowired
+    private ReactiveTutorialRepository reactiveTutorialRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Only for its blocking after-write hooks (cache, tag and author counts, trending, engagement)
+    @Autowired
+    private TutorialService tutorialService;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    // Blocking; its calls are moved onto boundedElastic and only happen when a snippet is stored separately
+    @Autowired
+    private SnippetStore snippetStore;
+
+    public Flux<TutorialSummary> streamTutorialFeed(String after) {
+        return reactiveTutorialRepository.streamFeed(after == null || after.isBlank() ? null : FeedCursor.decode(after));
+    }
+
+    public Flux<TutorialSummary> searchTutorials(String text, List<String> tags, boolean matchAll, int page, int size) {
+        int pageSize = TutorialService.clampPageSize(size);
+        TutorialService.checkSearchWindow(page, pageSize);
+        return reactiveTutorialRepository.search(text, TutorialService.normalizeTags(tags), matchAll, page, pageSize);
+    }
+
+    public Mono<Tutorial> getTutorialById(String id) {
+        return reactiveTutorialRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tutorial not found with id: " + id)))
+                .doOnNext(tutorial -> trendingFeed.record(id, tutorial.getTags(), TrendingFeed.Activity.VIEW))
+                .flatMap(this::resolve);
+    }
+
+    public Mono<Tutorial> createTutorial(Tutorial tutorial) {
+        // Always an insert under a new ObjectId, whatever id or version the body carried
+        tutorial.setId(null);
+        tutorial.setVersion(null);
+        Mono<Tutorial> compact = snippetStore.fitsInline(tutorial.getCodeSnippet())
+                ? Mono.just(tutorial) : offload(() -> snippetStore.compact(tutorial));
+        return compact.flatMap(reactiveTutorialRepository::save)
+                .flatMap(created -> offload(() -> {
+                    tutorialService.onCreated(created);
+                    return created;
+                }))
+                .flatMap(this::resolve);
+    }
+
+    public Mono<Tutorial> patchTutorial(String id, String userId, TutorialPatch patch) {
+        Mono<SnippetStore.Stored> stored = snippetStore.fitsInline(patch.getCodeSnippet())
+                ? Mono.just(new SnippetStore.Stored(patch.getCodeSnippet(), null))
+                : offload(() -> snippetStore.store(patch.getCodeSnippet()));
+        return stored.flatMap(snippet -> patchTutorial(id, userId, patch, snippet))
+                .flatMap(this::resolve);
+    }
+
+    private Mono<Tutorial> patchTutorial(String id, String userId, TutorialPatch patch, SnippetStore.Stored snippet) {
+        return Mono.defer(() -> reactiveMongoTemplate.findAndModify(
+                        TutorialUpdates.ownedBy(id, userId, patch.getVersion()), TutorialUpdates.toUpdate(patch, snippet),
+                        FindAndModifyOptions.options().returnNew(false), Tutorial.class))
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate
+                        .findOne(TutorialUpdates.ownershipProjection(id), Tutorial.class)
+                        .map(current -> TutorialUpdates.updateFailure(current, id, userId))
+                        .defaultIfEmpty(TutorialUpdates.updateFailure(null, id, userId))
+                        .flatMap(Mono::error)))
+                .flatMap(previous -> offload(() -> {
+                    Tutorial updated = TutorialUpdates.applied(previous, patch, snippet);
+                    tutorialService.onUpdated(previous, updated);
+                    return updated;
+                }));
+    }
+
+    // Same single conditional findAndRemove as TutorialService.deleteTutorial
+    public Mono<Void> deleteTutorial(String id, String userId) {
+        return Mono.defer(() -> reactiveMongoTemplate.findAndRemove(TutorialUpdates.ownedForDelete(id, userId), Tutorial.class))
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate
+                        .findOne(TutorialUpdates.ownershipProjection(id), Tutorial.class)
+                        .map(current -> TutorialUpdates.deleteFailure(current, id))
+                        .defaultIfEmpty(TutorialUpdates.deleteFailure(null, id))
+                        .flatMap(Mono::error)))
+                .flatMap(removed -> offload(() -> {
+                    tutorialService.onDeleted(removed);
+                    return removed;
+                }))
+                .then();
+    }
+
+    private Mono<Tutorial> resolve(Tutorial tutorial) {
+        return tutorial.getSnippetRef() == null ? Mono.just(tutorial) : offload(() -> snippetStore.resolve(tutorial));
+    }
+
+    private static <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CacheInvalidation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Redis-backed DistributedCache. Values are stored as Mongo extended JSON produced by the Mongo mapping
+ * converter, so cached documents round-trip exactly like documents read from the database (Jackson
+ * views such as read-only counters do not apply). Invalidations travel over a pub/sub channel.
+ */
+public class RedisDistributedCache implements DistributedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisDistributedCache.class);
+
+    // Stored by evict in place of the value; reads treat it as a miss and SET NX cannot replace it
+    private static final String INVALIDATED = "invalidated";
+
+    private final StringRedisTemplate redis;
+    private final MongoConverter converter;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final String channel;
+    private final Duration ttl;
+    private final Duration invalidationHold;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisDistributedCache(StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+                                 MongoConverter converter, ObjectMapper objectMapper,
+                                 String keyPrefix, Duration ttl, Duration invalidationHold) {
+        this.redis = redis;
+        this.converter = converter;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.channel = keyPrefix + "invalidations";
+        this.ttl = ttl;
+        this.invalidationHold = invalidationHold;
+        listenerContainer.addMessageListener((message, pattern) ->
+                receive(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        try {
+            String json = redis.opsForValue().get(keyPrefix + key);
+            return json == null || INVALIDATED.equals(json) ? null : converter.read(type, Document.parse(json));
+        } catch (RuntimeException e) {
+            logger.warn("Shared cache read of {} failed: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void putIfAbsent(String key, Object value) {
+        try {
+            Document document = new Document();
+            converter.write(value, document);
+            redis.opsForValue().setIfAbsent(keyPrefix + key, document.toJson(), ttl);
+        } catch (RuntimeException e) {
+            logger.warn("Shared cache write of {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String key) {
+        try {
+            // Outlasts any load that started before the write, so its stale result cannot be put back
+            redis.opsForValue().set(keyPrefix + key, INVALIDATED, invalidationHold);
+        } catch (RuntimeException e) {
+            // The entry still expires with its TTL
+            logger.warn("Shared cache eviction of {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        invalidation.setOrigin(instanceId);
+        try {
+            redis.convertAndSend(channel, objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Other instances catch up when their local entries expire
+            logger.warn("Publishing {} invalidation failed: {}", invalidation.getType(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private void receive(String body) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(body, CacheInvalidation.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed invalidation message: {}", e.getOriginalMessage());
+            return;
+        }
+        if (!instanceId.equals(invalidation.getOrigin())) {
+            listeners.forEach(listener -> listener.accept(invalidation));
+        }
+    }
+}
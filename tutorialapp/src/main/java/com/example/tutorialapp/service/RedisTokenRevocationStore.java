@@ -0,0 +1,72 @@
+package com.example.tutorialapp.service;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Revocations as one Redis key per token hash with a TTL ending at the token's expiry, so the set never
+ * outgrows the tokens that are still usable. Each revocation is also published so other instances can
+ * add it to their Bloom filters without waiting for the next rebuild.
+ */
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    private static final int SCAN_BATCH = 1000;
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final String channel;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisTokenRevocationStore(StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+                                     String keyPrefix) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix + "revoked:";
+        this.channel = keyPrefix + "revocations";
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String tokenHash = new String(message.getBody(), StandardCharsets.UTF_8);
+            listeners.forEach(listener -> listener.accept(tokenHash));
+        }, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void revoke(String tokenHash, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        redis.opsForValue().set(keyPrefix + tokenHash, "1", ttl);
+        redis.convertAndSend(channel, tokenHash);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenHash) {
+        return Boolean.TRUE.equals(redis.hasKey(keyPrefix + tokenHash));
+    }
+
+    @Override
+    public Set<String> revokedTokens() {
+        Set<String> hashes = new HashSet<>();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_BATCH).build();
+        try (Cursor<String> keys = redis.scan(options)) {
+            keys.forEachRemaining(key -> hashes.add(key.substring(keyPrefix.length())));
+        }
+        return hashes;
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Snippet;
+import com.example.tutorialapp.model.Tutorial;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps large code snippets out of tutorial documents. A snippet longer than
+ * tutorial.snippets.inline-max-chars is deflated and stored once in the snippets collection under its
+ * SHA-256, so identical pastes share one copy; the tutorial keeps only the hash (snippetRef) and the
+ * snippet's first inline-max-chars characters, which stay covered by the text index. Feed, search and
+ * cache entries therefore carry a bounded document, and the full snippet is inflated (through a
+ * weighted cache) only when a single tutorial is returned to a client.
+ */
+@Service
+public class SnippetStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnippetStore.class);
+
+    private static final int SWEEP_BATCH = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tutorial.snippets.inline-max-chars:4096}")
+    private int inlineMaxChars;
+
+    @Value("${tutorial.snippets.cache.max-weight:20000000}")
+    private long cacheMaxWeight;
+
+    @Value("${tutorial.snippets.sweep-grace-hours:24}")
+    private long sweepGraceHours;
+
+    // Inflated snippets by hash, weighted by length
+    private Cache<String, String> inflated;
+
+    // How a snippet is written: the inline part, plus the hash of the stored copy when there is one
+    public record Stored(String inline, String ref) {
+    }
+
+    @PostConstruct
+    void init() {
+        inflated = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxWeight)
+                .weigher((String hash, String snippet) -> snippet.length())
+                .recordStats()
+                .build();
+    }
+
+    public boolean fitsInline(String snippet) {
+        return snippet == null || snippet.length() <= inlineMaxChars;
+    }
+
+    // The leading characters kept inline, never ending on half of a surrogate pair
+    static String inlinePart(String snippet, int maxChars) {
+        int end = Math.min(maxChars, snippet.length());
+        if (end > 0 && end < snippet.length() && Character.isHighSurrogate(snippet.charAt(end - 1))) {
+            end--;
+        }
+        return snippet.substring(0, end);
+    }
+
+    // Stores a snippet too large to keep inline; a null snippet or a short one is returned as is
+    public Stored store(String snippet) {
+        if (fitsInline(snippet)) {
+            return new Stored(snippet, null);
+        }
+        byte[] bytes = snippet.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(bytes);
+        // Always touched, even when the content exists, so a concurrent sweep cannot remove it under us
+        Update update = new Update()
+                .setOnInsert("data", deflate(bytes))
+                .setOnInsert("size", bytes.length)
+                .set("storedAt", Instant.now());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(hash)), update, Snippet.class);
+        inflated.put(hash, snippet);
+        return new Stored(inlinePart(snippet, inlineMaxChars), hash);
+    }
+
+    // The form a tutorial is written in; a copy when its snippet is stored separately
+    public Tutorial compact(Tutorial tutorial) {
+        Stored stored = store(tutorial.getCodeSnippet());
+        if (stored.ref() == null) {
+            return tutorial;
+        }
+        return tutorial.toBuilder().codeSnippet(stored.inline()).snippetRef(stored.ref()).build();
+    }
+
+    // The form a tutorial is returned in; a copy carrying the full snippet when it is stored separately
+    public Tutorial resolve(Tutorial tutorial) {
+        if (tutorial == null || tutorial.getSnippetRef() == null) {
+            return tutorial;
+        }
+        return tutorial.toBuilder().codeSnippet(load(tutorial.getSnippetRef())).snippetRef(null).build();
+    }
+
+    /**
+     * Removes stored snippets no tutorial references any more. Only snippets not written for the grace
+     * period are considered, so a write that has stored its snippet but not yet its tutorial is safe.
+     */
+    @Scheduled(initialDelayString = "${tutorial.snippets.sweep-interval-ms:86400000}",
+            fixedDelayString = "${tutorial.snippets.sweep-interval-ms:86400000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(sweepGraceHours));
+        Query candidates = Query.query(Criteria.where("storedAt").lt(cutoff));
+        candidates.fields().include("_id");
+        String after = null;
+        long removed = 0;
+        while (true) {
+            Query batch = Query.of(candidates).with(Sort.by("_id")).limit(SWEEP_BATCH);
+            if (after != null) {
+                batch.addCriteria(Criteria.where("_id").gt(after));
+            }
+            List<String> ids = mongoTemplate.find(batch, Snippet.class).stream().map(Snippet::getId).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+            Set<String> referenced = new HashSet<>(mongoTemplate.findDistinct(
+                    Query.query(Criteria.where("snippetRef").in(ids)), "snippetRef", Tutorial.class, String.class));
+            List<String> orphans = ids.stream().filter(id -> !referenced.contains(id)).toList();
+            if (!orphans.isEmpty()) {
+                removed += mongoTemplate.remove(Query.query(Criteria.where("_id").in(orphans)
+                        .and("storedAt").lt(cutoff)), Snippet.class).getDeletedCount();
+                orphans.forEach(inflated::invalidate);
+            }
+        }
+        if (removed > 0) {
+            logger.info("Removed {} unreferenced snippets", removed);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, inflated, "snippets");
+    }
+
+    private String load(String hash) {
+        return inflated.get(hash, key -> {
+            Snippet snippet = mongoTemplate.findById(key, Snippet.class);
+            if (snippet == null) {
+                throw new RuntimeException("Snippet not found: " + key);
+            }
+            return new String(inflate(snippet.getData(), snippet.getSize()), StandardCharsets.UTF_8);
+        });
+    }
+
+    static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] inflate(byte[] data, int size) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] bytes = new byte[size];
+            int read = 0;
+            while (read < size && !inflater.finished()) {
+                int n = inflater.inflate(bytes, read, size - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != size) {
+                throw new IllegalStateException("Stored snippet is truncated: " + read + " of " + size + " bytes");
+            }
+            return bytes;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored snippet is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.TagCount;
+import com.example.tutorialapp.model.Tutorial;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory tag statistics: how many tutorials carry each tag and a decaying measure of how often it
+ * was recently applied. Writes report their tag diffs here, so reads never touch Mongo; a periodic
+ * aggregation recounts everything to correct drift from failed writes or other instances.
+ */
+@Component
+public class TagStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagStatistics.class);
+
+    // Case-insensitive first so every spelling of a prefix is contiguous; exact spelling breaks ties
+    private static final Comparator<String> TAG_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tutorial.tags.activity-half-life-hours:24}")
+    private double activityHalfLifeHours;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private final ConcurrentNavigableMap<String, TagStat> tags = new ConcurrentSkipListMap<>(TAG_ORDER);
+
+    // Immutable so concurrent compute() calls can never observe a half-updated entry
+    private record TagStat(long count, double activity, long activityAtMillis) {
+    }
+
+    public void onTagsChanged(Collection<String> before, Collection<String> after) {
+        Set<String> removed = tagSet(before);
+        Set<String> added = tagSet(after);
+        Set<String> unchanged = new HashSet<>(removed);
+        unchanged.retainAll(added);
+        removed.removeAll(unchanged);
+        added.removeAll(unchanged);
+
+        long now = clock.getAsLong();
+        added.forEach(tag -> tags.compute(tag, (key, stat) -> stat == null
+                ? new TagStat(1, 1, now)
+                : new TagStat(stat.count() + 1, decayed(stat, now) + 1, now)));
+        removed.forEach(tag -> tags.computeIfPresent(tag, (key, stat) -> stat.count() <= 1
+                ? null
+                : new TagStat(stat.count() - 1, stat.activity(), stat.activityAtMillis())));
+    }
+
+    public List<TagCount> popular(int limit) {
+        return top(Comparator.comparingLong(TagCount::getCount).reversed(), limit);
+    }
+
+    public List<TagCount> trending(int limit) {
+        return top(Comparator.comparingDouble(TagCount::getActivity).reversed(), limit);
+    }
+
+    public List<TagCount> autocomplete(String prefix, int limit) {
+        String trimmed = prefix == null ? "" : prefix.trim();
+        if (trimmed.isEmpty()) {
+            return popular(limit);
+        }
+        long now = clock.getAsLong();
+        List<TagCount> matches = new ArrayList<>();
+        // Upper case sorts first among case variants, so this is the first key that can match
+        for (Map.Entry<String, TagStat> entry : tags.tailMap(trimmed.toUpperCase(Locale.ROOT)).entrySet()) {
+            if (!entry.getKey().regionMatches(true, 0, trimmed, 0, trimmed.length())) {
+                break;
+            }
+            matches.add(toTagCount(entry.getKey(), entry.getValue(), now));
+        }
+        matches.sort(Comparator.comparingLong(TagCount::getCount).reversed());
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Recounts tags from the tutorials collection and replaces the in-memory counts. Activity is kept
+     * for known tags and seeded from the newest tutorial's creation time for tags seen for the first time.
+     */
+    @Scheduled(initialDelayString = "${tutorial.tags.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${tutorial.tags.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("tags.0").exists(true)),
+                // A tag repeated within one tutorial still counts that tutorial once
+                context -> new Document("$project",
+                        new Document("tags", new Document("$setUnion", List.of("$tags", List.of())))),
+                Aggregation.unwind("tags"),
+                Aggregation.group("tags").count().as("count").max("_id").as("lastId")
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        List<Document> counts;
+        try {
+            counts = mongoTemplate.aggregate(aggregation, Tutorial.class, Document.class).getMappedResults();
+        } catch (RuntimeException e) {
+            logger.error("Tag statistics reconciliation failed: {}", e.getMessage());
+            return;
+        }
+
+        Set<String> seen = new HashSet<>();
+        int corrected = 0;
+        for (Document result : counts) {
+            String tag = result.getString("_id");
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            long count = ((Number) result.get("count")).longValue();
+            ObjectId lastId = result.getObjectId("lastId");
+            long lastUsed = lastId != null ? lastId.getDate().getTime() : clock.getAsLong();
+            seen.add(tag);
+            TagStat previous = tags.get(tag);
+            if (previous == null || previous.count() != count) {
+                corrected++;
+            }
+            tags.compute(tag, (key, stat) -> stat == null
+                    ? new TagStat(count, 1, lastUsed)
+                    : new TagStat(count, stat.activity(), stat.activityAtMillis()));
+        }
+        int before = tags.size();
+        tags.keySet().retainAll(seen);
+        corrected += before - tags.size();
+        logger.info("Reconciled tag statistics: {} tags, {} corrected", tags.size(), corrected);
+    }
+
+    private List<TagCount> top(Comparator<TagCount> order, int limit) {
+        long now = clock.getAsLong();
+        return tags.entrySet().stream()
+                .map(entry -> toTagCount(entry.getKey(), entry.getValue(), now))
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    private TagCount toTagCount(String tag, TagStat stat, long now) {
+        return new TagCount(tag, stat.count(), decayed(stat, now));
+    }
+
+    private double decayed(TagStat stat, long now) {
+        double elapsedHours = Math.max(0, now - stat.activityAtMillis()) / 3_600_000.0;
+        return stat.activity() * Math.pow(0.5, elapsedHours / activityHalfLifeHours);
+    }
+
+    private static Set<String> tagSet(Collection<String> tags) {
+        Set<String> set = new HashSet<>();
+        if (tags != null) {
+            tags.stream()
+                    .filter(tag -> tag != null && !tag.isBlank())
+                    .forEach(set::add);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tutorialapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Answers "is this token revoked?" on every authenticated request. A local Bloom filter of revoked token
+ * hashes screens out nearly all valid tokens in memory; only filter hits are confirmed against the
+ * revocation store. The filter is fed by revocations from every instance and rebuilt periodically from
+ * the store, which also drops tokens that have since expired.
+ */
+@Service
+public class TokenRevocationService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private TokenRevocationStore store;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.revocation.bloom-expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.revocation.bloom-fpp:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter bloom;
+
+    // Filter being populated by rebuild(); revocations arriving meanwhile go into both
+    private volatile BloomFilter rebuilding;
+
+    private Counter storeLookups; // null until metrics are bound
+
+    @PostConstruct
+    void init() {
+        bloom = new BloomFilter(expectedInsertions, falsePositiveRate);
+        store.subscribe(this::remember);
+    }
+
+    /**
+     * Revokes a token until its own expiry. Throws JwtException when the token is not a valid, unexpired
+     * token signed by us, so callers cannot fill the store with garbage.
+     */
+    public void revoke(String token) {
+        Claims claims = jwtService.extractAllClaims(token);
+        String tokenHash = JwtService.hashToken(token);
+        store.revoke(tokenHash, claims.getExpiration().toInstant());
+        remember(tokenHash);
+    }
+
+    public boolean isRevoked(String token) {
+        String tokenHash = JwtService.hashToken(token);
+        if (!bloom.mightContain(tokenHash)) {
+            return false;
+        }
+        if (storeLookups != null) {
+            storeLookups.increment();
+        }
+        try {
+            return store.isRevoked(tokenHash);
+        } catch (RuntimeException e) {
+            // The filter says this token was probably revoked; fail closed rather than let it through
+            logger.warn("Revocation store lookup failed: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval-ms:600000}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = fresh;
+        try {
+            Set<String> revoked = store.revokedTokens();
+            revoked.forEach(fresh::put);
+            bloom = fresh;
+            if (revoked.size() > expectedInsertions) {
+                logger.warn("{} revoked tokens exceed jwt.revocation.bloom-expected-insertions={}; "
+                        + "store lookups will rise", revoked.size(), expectedInsertions);
+            }
+        } catch (RuntimeException e) {
+            // Keep the current filter; it only lacks the cleanup of expired entries
+            logger.warn("Rebuilding the revocation filter failed: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        storeLookups = Counter.builder("jwt.revocation.store.lookups")
+                .description("Revocation checks the Bloom filter could not answer alone")
+                .register(registry);
+    }
+
+    // The rebuilding filter first: read after it, bloom is either the filter that was current then or the
+    // rebuilt one already swapped in, so a rebuild finishing in between cannot drop the revocation
+    private void remember(String tokenHash) {
+        BloomFilter pending = rebuilding;
+        if (pending != null) {
+            pending.put(tokenHash);
+        }
+        bloom.put(tokenHash);
+    }
+}
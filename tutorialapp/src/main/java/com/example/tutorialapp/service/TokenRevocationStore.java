@@ -0,0 +1,20 @@
+package com.example.tutorialapp.service;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Revoked tokens keyed by the SHA-256 token hash (see JwtService), each kept only until the token would
+ * have expired anyway. Listeners are told about revocations made on any instance.
+ */
+public interface TokenRevocationStore {
+
+    void revoke(String tokenHash, Instant expiresAt);
+
+    boolean isRevoked(String tokenHash);
+
+    Set<String> revokedTokens();
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,381 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.TrendingScore;
+import com.example.tutorialapp.model.Tutorial;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Materialized trending ranking: a time-decayed activity score per tutorial and a top-N list for the
+ * whole site and for every tag. Requests only add points to a pending map; a background refresh folds
+ * them in and republishes the lists that changed, so serving a page is a sublist of a published list
+ * no matter how many tutorials exist.
+ *
+ * <p>Scores are kept as log2 of the activity decayed back to a fixed epoch. Decay then never reorders
+ * anything and scores only grow with new activity, which is what keeps the incrementally maintained
+ * top-N lists exact: a tutorial outside a list can only get in by being active, and then it is
+ * re-ranked. Removals (deletes, dropped tags) leave gaps that the periodic snapshot fills by rebuilding
+ * every list. Each instance ranks the activity it sees; the snapshot keeps the highest score any
+ * instance has written, which ranks the same as long as traffic is spread evenly.
+ */
+@Component
+public class TrendingFeed implements MeterBinder {
+
+    public enum Activity {
+        VIEW, EDIT, LIKE, COMMENT, CREATE
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingFeed.class);
+
+    // Key of the list across all tags; blank tags are never stored, so it cannot clash with one
+    private static final String ALL = "";
+
+    // Highest score first; the id breaks ties so distinct tutorials never compare equal
+    private static final Comparator<Ranked> ORDER =
+            Comparator.comparingDouble(Ranked::score).reversed().thenComparing(Ranked::id);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${tutorial.trending.half-life-hours:24}")
+    private double halfLifeHours;
+
+    // Tutorials kept per list, and so the deepest page that can be served
+    @Value("${tutorial.trending.list-size:500}")
+    private int listSize;
+
+    // Tutorials whose decayed score falls below this are forgotten at the next snapshot
+    @Value("${tutorial.trending.min-score:0.05}")
+    private double minScore;
+
+    @Value("${tutorial.trending.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${tutorial.trending.weight.edit:3}")
+    private double editWeight;
+
+    @Value("${tutorial.trending.weight.like:5}")
+    private double likeWeight;
+
+    @Value("${tutorial.trending.weight.comment:4}")
+    private double commentWeight;
+
+    @Value("${tutorial.trending.weight.create:10}")
+    private double createWeight;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    // Written by requests, drained by refresh()
+    private final ConcurrentHashMap<String, Double> pendingPoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<String>> pendingTags = new ConcurrentHashMap<>();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    // Only touched by the synchronized refresh and snapshot
+    private final Map<String, Scored> scores = new HashMap<>();
+    private final Map<String, TreeSet<Ranked>> lists = new HashMap<>();
+    private final Set<String> deletedSinceSnapshot = new HashSet<>();
+    private boolean restored;
+
+    // Tutorial ids per list key, best first; replaced wholesale, never modified
+    private volatile Map<String, List<String>> published = Map.of();
+    private volatile int tracked;
+
+    private record Ranked(String id, double score) {
+    }
+
+    private static final class Scored {
+        private double score;
+        private List<String> tags;
+
+        private Scored(double score, List<String> tags) {
+            this.score = score;
+            this.tags = tags;
+        }
+    }
+
+    /** Adds activity points to a tutorial; tags, when given, replace the ones it is ranked under. */
+    public void record(String tutorialId, Collection<String> tags, Activity activity) {
+        if (tutorialId == null) {
+            return;
+        }
+        if (tags != null) {
+            pendingTags.put(tutorialId, tagList(tags));
+        }
+        double points = weight(activity);
+        if (points > 0) {
+            pendingPoints.merge(tutorialId, log2(points) + halfLives(clock.getAsLong()), TrendingFeed::logSum);
+        }
+    }
+
+    public void onDeleted(String tutorialId) {
+        pendingDeletes.add(tutorialId);
+    }
+
+    /** Ids of the ranked tutorials at [offset, offset + limit) of the tag's list, or of the site-wide one when tag is blank. */
+    public List<String> page(String tag, int offset, int limit) {
+        List<String> ids = published.getOrDefault(tag == null ? ALL : tag.trim(), List.of());
+        if (offset >= ids.size()) {
+            return List.of();
+        }
+        return ids.subList(offset, Math.min(ids.size(), offset + limit));
+    }
+
+    public int listSize() {
+        return listSize;
+    }
+
+    /** Folds the activity recorded since the last refresh into the scores and republishes changed lists. */
+    @Scheduled(initialDelayString = "${tutorial.trending.refresh-initial-delay-ms:0}",
+            fixedDelayString = "${tutorial.trending.refresh-interval-ms:10000}")
+    public synchronized void refresh() {
+        if (!restored && !restore()) {
+            return;
+        }
+        Map<String, Double> points = drain(pendingPoints);
+        Map<String, List<String>> tags = drain(pendingTags);
+        Set<String> deleted = new HashSet<>(pendingDeletes);
+        pendingDeletes.removeAll(deleted);
+
+        Set<String> unknown = new HashSet<>(points.keySet());
+        unknown.removeAll(scores.keySet());
+        unknown.removeAll(tags.keySet());
+        unknown.removeAll(deleted);
+        try {
+            tags.putAll(lookupTags(unknown));
+        } catch (RuntimeException e) {
+            // Keep the activity for the next attempt rather than dropping it
+            logger.warn("Trending refresh failed, retrying on the next run: {}", e.getMessage());
+            points.forEach((id, score) -> pendingPoints.merge(id, score, TrendingFeed::logSum));
+            tags.forEach(pendingTags::putIfAbsent);
+            pendingDeletes.addAll(deleted);
+            return;
+        }
+
+        Set<String> changed = new HashSet<>();
+        Set<String> touched = new HashSet<>(points.keySet());
+        touched.addAll(tags.keySet());
+        for (String id : touched) {
+            Scored entry = scores.get(id);
+            List<String> newTags = tags.getOrDefault(id, entry != null ? entry.tags : null);
+            if (newTags == null || deleted.contains(id)) {
+                continue; // Gone from Mongo, or deleted below
+            }
+            if (entry == null) {
+                entry = new Scored(Double.NEGATIVE_INFINITY, newTags);
+                scores.put(id, entry);
+            } else {
+                unrank(id, entry, changed);
+            }
+            entry.score = logSum(entry.score, points.getOrDefault(id, Double.NEGATIVE_INFINITY));
+            entry.tags = newTags;
+            rank(id, entry, changed);
+        }
+        for (String id : deleted) {
+            Scored entry = scores.remove(id);
+            if (entry != null) {
+                unrank(id, entry, changed);
+            }
+        }
+        deletedSinceSnapshot.addAll(deleted);
+        publish(published, changed);
+    }
+
+    /**
+     * Forgets tutorials whose score has decayed away, rebuilds every list from the remaining scores to
+     * fill the gaps removals left, and writes the ranked tutorials to Mongo for the next startup.
+     */
+    @Scheduled(initialDelayString = "${tutorial.trending.snapshot-interval-ms:300000}",
+            fixedDelayString = "${tutorial.trending.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() {
+        if (!restored) {
+            return;
+        }
+        double cutoff = log2(minScore) + halfLives(clock.getAsLong());
+        scores.values().removeIf(entry -> entry.score < cutoff);
+        rebuild();
+
+        Map<String, Scored> ranked = new HashMap<>();
+        lists.values().forEach(list -> list.forEach(r -> ranked.put(r.id(), scores.get(r.id()))));
+        Instant now = Instant.ofEpochMilli(clock.getAsLong());
+        try {
+            if (!ranked.isEmpty()) {
+                BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrendingScore.class);
+                ranked.forEach((id, entry) -> bulkOps.upsert(Query.query(Criteria.where("_id").is(id)),
+                        new Update().max("score", entry.score).set("tags", entry.tags).set("snapshotAt", now)));
+                bulkOps.execute();
+            }
+            mongoTemplate.remove(Query.query(new Criteria().orOperator(
+                    Criteria.where("score").lt(cutoff),
+                    Criteria.where("_id").in(deletedSinceSnapshot))), TrendingScore.class);
+            deletedSinceSnapshot.clear();
+        } catch (RuntimeException e) {
+            logger.warn("Writing the trending snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tutorial.trending.tracked", this, feed -> feed.tracked)
+                .description("Tutorials with a trending score")
+                .register(registry);
+    }
+
+    // Loads the last snapshot once, before any new activity is folded in; false if Mongo is not reachable yet
+    private boolean restore() {
+        List<TrendingScore> snapshot;
+        try {
+            snapshot = mongoTemplate.findAll(TrendingScore.class);
+        } catch (RuntimeException e) {
+            logger.warn("Loading the trending snapshot failed, retrying on the next run: {}", e.getMessage());
+            return false;
+        }
+        for (TrendingScore saved : snapshot) {
+            scores.put(saved.getId(), new Scored(saved.getScore(), tagList(saved.getTags())));
+        }
+        rebuild();
+        restored = true;
+        logger.info("Restored {} trending scores", snapshot.size());
+        return true;
+    }
+
+    private void rebuild() {
+        lists.clear();
+        Set<String> changed = new HashSet<>();
+        scores.forEach((id, entry) -> rank(id, entry, changed));
+        publish(Map.of(), changed);
+    }
+
+    private void rank(String id, Scored entry, Set<String> changed) {
+        Ranked ranked = new Ranked(id, entry.score);
+        add(ALL, ranked, changed);
+        entry.tags.forEach(tag -> add(tag, ranked, changed));
+    }
+
+    private void add(String key, Ranked ranked, Set<String> changed) {
+        TreeSet<Ranked> list = lists.computeIfAbsent(key, k -> new TreeSet<>(ORDER));
+        if (list.size() >= listSize && ORDER.compare(ranked, list.last()) > 0) {
+            return; // Below the cut
+        }
+        list.add(ranked);
+        if (list.size() > listSize) {
+            list.pollLast();
+        }
+        changed.add(key);
+    }
+
+    private void unrank(String id, Scored entry, Set<String> changed) {
+        Ranked ranked = new Ranked(id, entry.score);
+        remove(ALL, ranked, changed);
+        entry.tags.forEach(tag -> remove(tag, ranked, changed));
+    }
+
+    private void remove(String key, Ranked ranked, Set<String> changed) {
+        TreeSet<Ranked> list = lists.get(key);
+        if (list != null && list.remove(ranked)) {
+            changed.add(key);
+            if (list.isEmpty()) {
+                lists.remove(key);
+            }
+        }
+    }
+
+    // Publishes base with the changed lists replaced, in one volatile write so readers never see a partial update
+    private void publish(Map<String, List<String>> base, Set<String> changed) {
+        if (!changed.isEmpty() || base != published) {
+            Map<String, List<String>> next = new HashMap<>(base);
+            for (String key : changed) {
+                TreeSet<Ranked> list = lists.get(key);
+                if (list == null) {
+                    next.remove(key);
+                } else {
+                    next.put(key, list.stream().map(Ranked::id).toList());
+                }
+            }
+            published = Map.copyOf(next);
+        }
+        tracked = scores.size();
+    }
+
+    // Tags of tutorials this instance has no tags for yet; ids missing from the result no longer exist
+    private Map<String, List<String>> lookupTags(Set<String> ids) {
+        Map<String, List<String>> tags = new HashMap<>();
+        if (ids.isEmpty()) {
+            return tags;
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("tags");
+        for (Tutorial tutorial : mongoTemplate.find(query, Tutorial.class)) {
+            tags.put(tutorial.getId(), tagList(tutorial.getTags()));
+        }
+        return tags;
+    }
+
+    private double weight(Activity activity) {
+        return switch (activity) {
+            case VIEW -> viewWeight;
+            case EDIT -> editWeight;
+            case LIKE -> likeWeight;
+            case COMMENT -> commentWeight;
+            case CREATE -> createWeight;
+        };
+    }
+
+    private double halfLives(long millis) {
+        return millis / (halfLifeHours * 3_600_000.0);
+    }
+
+    // log2(2^a + 2^b) without leaving log space, so scores never overflow however old the epoch
+    static double logSum(double a, double b) {
+        double max = Math.max(a, b);
+        if (max == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+        return max + log2(1 + Math.pow(2, Math.min(a, b) - max));
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    private static <V> Map<String, V> drain(ConcurrentHashMap<String, V> pending) {
+        Map<String, V> drained = new HashMap<>();
+        for (String key : pending.keySet()) {
+            V value = pending.remove(key);
+            if (value != null) {
+                drained.put(key, value);
+            }
+        }
+        return drained;
+    }
+
+    private static List<String> tagList(Collection<String> tags) {
+        return tags == null ? List.of() : tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.BulkImportResult;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.repository.TutorialRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON import and export of tutorials. Imports are parsed line by line and written in unordered
+ * bulk inserts, so one bad record only fails itself and memory use is bounded by the batch size.
+ */
+@Service
+public class TutorialBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorialBulkService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TutorialRepository tutorialRepository;
+
+    @Autowired
+    private TutorialCache tutorialCache;
+
+    @Autowired
+    private TagStatistics tagStatistics;
+
+    @Autowired
+    private AuthorStatsService authorStats;
+
+    @Autowired
+    private SnippetStore snippetStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tutorial.bulk.batch-size:1000}")
+    private int batchSize;
+
+    private ObjectReader tutorialReader;
+
+    @PostConstruct
+    void init() {
+        tutorialReader = objectMapper.readerFor(Tutorial.class);
+    }
+
+    public BulkImportResult importTutorials(InputStream in, String creatorId) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<Tutorial> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            Tutorial tutorial;
+            try {
+                tutorial = tutorialReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                recordError(result, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (tutorial.getTitle() == null || tutorial.getTitle().isBlank()) {
+                recordError(result, lineNumber, "title is required");
+                continue;
+            }
+            batch.add(tutorial);
+            batchLines.add(lineNumber);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, batchLines, creatorId, result);
+            }
+        }
+        writeBatch(batch, batchLines, creatorId, result);
+
+        logger.info("Bulk import by {}: received={} inserted={} failed={}",
+                creatorId, result.getReceived(), result.getInserted(), result.getFailed());
+        return result;
+    }
+
+    public void exportTutorials(Consumer<Tutorial> consumer) {
+        try (Stream<Tutorial> tutorials = tutorialRepository.streamAllByOrderByIdAsc(Tutorial.class)) {
+            tutorials.map(snippetStore::resolve).forEach(consumer);
+        }
+    }
+
+    private void writeBatch(List<Tutorial> batch, List<Long> batchLines, String creatorId, BulkImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.forEach(tutorial -> {
+            // Fresh ObjectId and version, as a single create gets; feed cursors and change events rely on ObjectId ids
+            tutorial.setId(new ObjectId().toHexString());
+            tutorial.setVersion(0L);
+            tutorial.setCreatorId(creatorId);
+        });
+        batch.replaceAll(snippetStore::compact);
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tutorial.class);
+        bulkOps.insert(batch);
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            result.setInserted(result.getInserted() + bulkOps.execute().getInsertedCount());
+        } catch (BulkOperationException e) {
+            result.setInserted(result.getInserted() + e.getResult().getInsertedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                failedIndexes.add(error.getIndex());
+                recordError(result, batchLines.get(error.getIndex()), error.getMessage());
+            }
+        }
+        List<Tutorial> inserted = new ArrayList<>(batch.size() - failedIndexes.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                inserted.add(batch.get(i));
+                tagStatistics.onTagsChanged(null, batch.get(i).getTags());
+            }
+        }
+        tutorialCache.onBulkCreated(inserted);
+        authorStats.onCreated(inserted);
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private static void recordError(BulkImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkImportResult.RecordError(line, message));
+        }
+    }
+}
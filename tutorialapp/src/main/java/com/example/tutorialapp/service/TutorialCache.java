@@ -0,0 +1,241 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CacheInvalidation;
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for tutorial reads: documents by id (weighted by their text size), tag-only
+ * search results and the first page of the feed. TutorialService reports every write so only the
+ * entries that could have changed are dropped. Documents by id are also shared between instances
+ * through the DistributedCache, and every write is broadcast so other instances drop the same entries.
+ */
+@Component
+public class TutorialCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorialCache.class);
+
+    // Rough fixed cost of a cached document on top of its strings
+    private static final int BASE_WEIGHT = 256;
+
+    private static final String SHARED_KEY_PREFIX = "tutorial:";
+
+    // Always provided by DistributedCacheConfig; a bare instance (unit tests) runs local-only
+    @Autowired(required = false)
+    private DistributedCache distributedCache;
+
+    @Value("${tutorial.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tutorial.cache.max-weight:50000000}")
+    private long maxWeight;
+
+    @Value("${tutorial.cache.max-entries:1000}")
+    private long maxEntries;
+
+    @Value("${tutorial.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<String, Tutorial> byId;
+    private Cache<SearchKey, List<TutorialSummary>> tagSearches;
+    private Cache<Integer, CursorPage<TutorialSummary>> firstFeedPages;
+
+    private record SearchKey(Set<String> tags, boolean matchAll, int page, int size) {
+    }
+
+    @PostConstruct
+    void init() {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        byId = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String id, Tutorial tutorial) -> weigh(tutorial))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        tagSearches = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        firstFeedPages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        if (distributedCache == null) {
+            distributedCache = new LocalOnlyCache();
+        }
+        distributedCache.subscribe(this::onRemoteInvalidation);
+    }
+
+    public Tutorial getById(String id, Function<String, Tutorial> loader) {
+        return enabled ? byId.get(id, key -> loadShared(key, loader)) : loader.apply(id);
+    }
+
+    public List<TutorialSummary> getTagSearch(List<String> tags, boolean matchAll, int page, int size,
+                                              Supplier<List<TutorialSummary>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return tagSearches.get(new SearchKey(Set.copyOf(tags), matchAll, page, size), key -> loader.get());
+    }
+
+    public CursorPage<TutorialSummary> getFirstFeedPage(int size, Supplier<CursorPage<TutorialSummary>> loader) {
+        return enabled ? firstFeedPages.get(size, key -> loader.get()) : loader.get();
+    }
+
+    public void onCreated(Tutorial created) {
+        evictFeedEnd(created.getTags());
+        distributedCache.publish(new CacheInvalidation(CacheInvalidation.TUTORIAL_CREATED, null,
+                created.getTags(), null));
+    }
+
+    public void onBulkCreated(Collection<Tutorial> created) {
+        Set<String> tags = new HashSet<>();
+        created.forEach(tutorial -> {
+            if (tutorial.getTags() != null) {
+                tags.addAll(tutorial.getTags());
+            }
+        });
+        evictFeedEnd(tags);
+        distributedCache.publish(new CacheInvalidation(CacheInvalidation.TUTORIAL_CREATED, null,
+                new ArrayList<>(tags), null));
+    }
+
+    public void onUpdated(Tutorial before, Tutorial after) {
+        Set<String> changedTags = new HashSet<>();
+        if (before != null && before.getTags() != null) {
+            changedTags.addAll(before.getTags());
+        }
+        if (after.getTags() != null) {
+            changedTags.addAll(after.getTags());
+        }
+        onChanged(after.getId(), changedTags);
+    }
+
+    // Like and comment counts changed without a version bump; drop every cached copy of that tutorial
+    public void onCountersChanged(String id) {
+        onChanged(id, Set.of());
+    }
+
+    public void onDeleted(Tutorial deleted) {
+        onChanged(deleted.getId(), deleted.getTags() != null ? Set.copyOf(deleted.getTags()) : Set.of());
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("tutorialsById", byId.stats());
+        stats.put("tagSearches", tagSearches.stats());
+        stats.put("firstFeedPages", firstFeedPages.stats());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "tutorialsById");
+        CaffeineCacheMetrics.monitor(registry, tagSearches, "tagSearches");
+        CaffeineCacheMetrics.monitor(registry, firstFeedPages, "firstFeedPages");
+    }
+
+    @Scheduled(fixedDelayString = "${tutorial.cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        if (!enabled) {
+            return;
+        }
+        stats().forEach((name, stats) -> logger.info(
+                "Cache {}: hitRatio={} hits={} misses={} evictions={} avgLoadMs={}",
+                name, String.format("%.3f", stats.hitRate()), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), String.format("%.2f", stats.averageLoadPenalty() / 1_000_000.0)));
+    }
+
+    private Tutorial loadShared(String id, Function<String, Tutorial> loader) {
+        Tutorial shared = distributedCache.get(SHARED_KEY_PREFIX + id, Tutorial.class);
+        if (shared != null) {
+            return shared;
+        }
+        Tutorial loaded = loader.apply(id);
+        if (loaded != null) {
+            // Refused while a write's eviction is held, since loaded may predate that write
+            distributedCache.putIfAbsent(SHARED_KEY_PREFIX + id, loaded);
+        }
+        return loaded;
+    }
+
+    private void onChanged(String id, Set<String> tags) {
+        distributedCache.evict(SHARED_KEY_PREFIX + id);
+        evictTutorial(id, tags);
+        distributedCache.publish(new CacheInvalidation(CacheInvalidation.TUTORIAL_CHANGED, id,
+                new ArrayList<>(tags), null));
+    }
+
+    // Another instance already evicted the shared entry; only the local copies are left
+    private void onRemoteInvalidation(CacheInvalidation invalidation) {
+        if (CacheInvalidation.TUTORIAL_CREATED.equals(invalidation.getType())) {
+            evictFeedEnd(invalidation.getTags());
+        } else if (CacheInvalidation.TUTORIAL_CHANGED.equals(invalidation.getType())) {
+            evictTutorial(invalidation.getId(), invalidation.getTags());
+        }
+    }
+
+    private void evictTutorial(String id, Collection<String> tags) {
+        byId.invalidate(id);
+        evictFeedPagesContaining(id);
+        // Covers cached searches on tags the write removed or added, and counter-only changes
+        tagSearches.asMap().values().removeIf(results ->
+                results.stream().anyMatch(summary -> id.equals(summary.getId())));
+        evictTagSearches(tags);
+    }
+
+    private void evictFeedEnd(Collection<String> tags) {
+        // New documents sort last by _id, so only pages that reached the end of the feed change
+        firstFeedPages.asMap().values().removeIf(page -> page.getNextCursor() == null);
+        evictTagSearches(tags);
+    }
+
+    private void evictFeedPagesContaining(String id) {
+        firstFeedPages.asMap().values().removeIf(page ->
+                page.getItems().stream().anyMatch(summary -> id.equals(summary.getId())));
+    }
+
+    private void evictTagSearches(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        tagSearches.asMap().keySet().removeIf(key -> !Collections.disjoint(key.tags(), tags));
+    }
+
+    private static int weigh(Tutorial tutorial) {
+        return BASE_WEIGHT + length(tutorial.getTitle()) + length(tutorial.getDescription())
+                + length(tutorial.getCodeSnippet());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
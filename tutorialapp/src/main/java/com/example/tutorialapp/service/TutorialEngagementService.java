@@ -0,0 +1,144 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Comment;
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.LikeResult;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialCounters;
+import com.example.tutorialapp.model.TutorialLike;
+import com.example.tutorialapp.repository.CommentRepository;
+import com.example.tutorialapp.repository.TutorialLikeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Likes and comments. Each write touches a small document in its own collection plus a single $inc
+ * on the tutorial's counter, so a popular tutorial is never rewritten or grown as it collects
+ * engagement, and feed views read the counts without loading any comments.
+ */
+@Service
+public class TutorialEngagementService {
+
+    public static final int MAX_COMMENT_LENGTH = 2000;
+
+    @Autowired
+    private TutorialLikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TutorialCache tutorialCache;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    public LikeResult like(String tutorialId, String userId) {
+        try {
+            likeRepository.insert(new TutorialLike(tutorialId, userId, Instant.now()));
+        } catch (DuplicateKeyException e) {
+            // Already liked; the unique index makes repeat clicks a no-op
+            return new LikeResult(tutorialId, currentCounters(tutorialId).getLikes(), true);
+        }
+        TutorialCounters counters = incrementCounter(tutorialId, "likes", 1);
+        if (counters == null) {
+            likeRepository.deleteByTutorialIdAndUserId(tutorialId, userId);
+            throw new RuntimeException("Tutorial not found with id: " + tutorialId);
+        }
+        trendingFeed.record(tutorialId, null, TrendingFeed.Activity.LIKE);
+        return new LikeResult(tutorialId, counters.getLikes(), true);
+    }
+
+    public LikeResult unlike(String tutorialId, String userId) {
+        if (likeRepository.deleteByTutorialIdAndUserId(tutorialId, userId) == 0) {
+            return new LikeResult(tutorialId, currentCounters(tutorialId).getLikes(), false);
+        }
+        TutorialCounters counters = incrementCounter(tutorialId, "likes", -1);
+        if (counters == null) {
+            throw new RuntimeException("Tutorial not found with id: " + tutorialId);
+        }
+        return new LikeResult(tutorialId, counters.getLikes(), false);
+    }
+
+    public Comment addComment(String tutorialId, String authorId, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Comment text is required");
+        }
+        if (text.length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("Comment must be at most " + MAX_COMMENT_LENGTH + " characters");
+        }
+        Comment comment = new Comment();
+        comment.setTutorialId(tutorialId);
+        comment.setAuthorId(authorId);
+        comment.setText(text.strip());
+        comment.setCreatedAt(Instant.now());
+        Comment saved = commentRepository.insert(comment);
+        if (incrementCounter(tutorialId, "commentCount", 1) == null) {
+            commentRepository.deleteById(saved.getId());
+            throw new RuntimeException("Tutorial not found with id: " + tutorialId);
+        }
+        trendingFeed.record(tutorialId, null, TrendingFeed.Activity.COMMENT);
+        return saved;
+    }
+
+    public CursorPage<Comment> getComments(String tutorialId, String after, int size) {
+        int pageSize = TutorialService.clampPageSize(size);
+        // Fetch one extra comment to find out whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Comment> comments = after == null || after.isBlank()
+                ? commentRepository.findByTutorialIdOrderByIdAsc(tutorialId, limit)
+                : commentRepository.findByTutorialIdAndIdGreaterThanOrderByIdAsc(tutorialId, FeedCursor.decode(after), limit);
+        if (comments.size() <= pageSize) {
+            return new CursorPage<>(comments, null);
+        }
+        List<Comment> page = comments.subList(0, pageSize);
+        return new CursorPage<>(page, FeedCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    // Called after the tutorial itself is gone
+    public void onTutorialDeleted(String tutorialId) {
+        commentRepository.deleteByTutorialId(tutorialId);
+        likeRepository.deleteByTutorialId(tutorialId);
+    }
+
+    // Single $inc on the tutorial, returning only the counters as they are afterwards; null if it does not exist
+    private TutorialCounters incrementCounter(String tutorialId, String field, int delta) {
+        TutorialCounters counters = mongoTemplate.findAndModify(countersOf(tutorialId), new Update().inc(field, delta),
+                FindAndModifyOptions.options().returnNew(true), TutorialCounters.class, tutorialCollection());
+        if (counters != null) {
+            tutorialCache.onCountersChanged(tutorialId);
+        }
+        return counters;
+    }
+
+    private TutorialCounters currentCounters(String tutorialId) {
+        TutorialCounters counters = mongoTemplate.findOne(countersOf(tutorialId), TutorialCounters.class, tutorialCollection());
+        if (counters == null) {
+            throw new RuntimeException("Tutorial not found with id: " + tutorialId);
+        }
+        return counters;
+    }
+
+    private String tutorialCollection() {
+        return mongoTemplate.getCollectionName(Tutorial.class);
+    }
+
+    private static Query countersOf(String tutorialId) {
+        Query query = Query.query(Criteria.where("_id").is(tutorialId));
+        query.fields().include("likes", "commentCount");
+        return query;
+    }
+}
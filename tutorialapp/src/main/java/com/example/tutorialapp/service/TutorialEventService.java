@@ -0,0 +1,260 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialEvent;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tails the tutorials collection with one change stream and fans the events out to every subscriber.
+ * Each subscriber gets its own bounded buffer, so a slow client can only lose its own events (or be
+ * disconnected, depending on tutorial.events.overflow) and never holds up the stream or other clients.
+ */
+@Service
+public class TutorialEventService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorialEventService.class);
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    // Tutorial fields that summaryOf reads; the looked-up document is cut down to these on the server
+    private static final List<String> SUMMARY_FIELDS = List.of(
+            "_id", "title", "description", "tags", "creatorId", "version", "likes", "commentCount");
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Value("${tutorial.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tutorial.events.client-buffer:256}")
+    private int clientBuffer;
+
+    // drop-oldest: a lagging client skips events; disconnect: its stream fails and the client reconnects
+    @Value("${tutorial.events.overflow:drop-oldest}")
+    private String overflow;
+
+    @Value("${tutorial.events.max-retry-backoff-seconds:60}")
+    private long maxRetryBackoffSeconds;
+
+    // Best effort is enough here: every subscriber drains into its own unbounded-demand buffer
+    private final Sinks.Many<TutorialEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    // Event ids from another instance, or from before a restart, never match ours
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile BsonValue resumeToken;
+    private Disposable changeStream;
+    private Counter droppedEvents; // null until metrics are bound
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        changeStream = Flux.defer(this::listen)
+                // Standalone servers have no change streams; keep retrying quietly in case of a failover
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(maxRetryBackoffSeconds))
+                        .doBeforeRetry(signal -> {
+                            if (isHistoryLost(signal.failure())) {
+                                resumeToken = null; // Oplog rolled past our position; start from now
+                            }
+                            logger.warn("Tutorial change stream failed, retrying: {}", signal.failure().getMessage());
+                        }))
+                .subscribe(this::publish);
+        logger.info("Tutorial change stream started");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (changeStream != null) {
+            changeStream.dispose();
+        }
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * Events from now on. A client that missed some gets a resync event instead of the next one: after
+     * drops from its buffer, and on reconnecting (lastEventId set) when events were published meanwhile.
+     */
+    public Flux<TutorialEvent> subscribe(String lastEventId) {
+        BufferOverflowStrategy strategy = "disconnect".equals(overflow)
+                ? BufferOverflowStrategy.ERROR
+                : BufferOverflowStrategy.DROP_OLDEST;
+        return Flux.defer(() -> {
+            long current = sequence.get();
+            AtomicLong delivered = new AtomicLong(current);
+            Flux<TutorialEvent> events = sink.asFlux()
+                    .onBackpressureBuffer(clientBuffer, this::onDropped, strategy)
+                    // One out for one in, so the buffer alone decides what a slow client keeps
+                    .map(event -> delivered.getAndSet(event.getSequence()) + 1 == event.getSequence()
+                            ? event : resync(event.getSequence()))
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> subscribers.decrementAndGet());
+            return lastEventId == null || lastEventId.equals(idOf(current))
+                    ? events : events.startWith(resync(current));
+        });
+    }
+
+    public String idOf(TutorialEvent event) {
+        return idOf(event.getSequence());
+    }
+
+    private String idOf(long position) {
+        return epoch + "-" + position;
+    }
+
+    private static TutorialEvent resync(long position) {
+        TutorialEvent event = new TutorialEvent(TutorialEvent.RESYNC, null, null);
+        event.setSequence(position);
+        return event;
+    }
+
+    private void onDropped(TutorialEvent event) {
+        Counter counter = droppedEvents;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        droppedEvents = Counter.builder("tutorial.events.dropped")
+                .description("Events dropped for subscribers whose buffer was full")
+                .tag("policy", overflow)
+                .register(registry);
+        Gauge.builder("tutorial.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Open tutorial event streams")
+                .register(registry);
+    }
+
+    // Resumes after the last event seen, so a retry does not lose changes made while reconnecting
+    private Flux<ChangeStreamEvent<Tutorial>> listen() {
+        BsonValue token = resumeToken;
+        return reactiveMongoTemplate.changeStream(Tutorial.class)
+                .withOptions(options -> {
+                    options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+                    options.filter(pipeline());
+                    if (token != null) {
+                        options.resumeAfter(token);
+                    }
+                })
+                .watchCollection(Tutorial.class)
+                .listen();
+    }
+
+    // Plain documents, which Spring passes through unmapped. The projection keeps _id (the resume token)
+    // and drops codeSnippet and any other large field the update lookup would otherwise ship with every event.
+    private static Document[] pipeline() {
+        Document projection = new Document("operationType", 1)
+                .append("documentKey", 1)
+                .append("ns", 1)
+                .append("clusterTime", 1);
+        SUMMARY_FIELDS.forEach(field -> projection.append("fullDocument." + field, 1));
+        return new Document[] {
+                new Document("$match", new Document("operationType",
+                        new Document("$in", List.of("insert", "update", "replace", "delete")))),
+                new Document("$project", projection)
+        };
+    }
+
+    private void publish(ChangeStreamEvent<Tutorial> event) {
+        resumeToken = event.getResumeToken();
+        ChangeStreamDocument<Document> raw = event.getRaw();
+        if (raw == null || raw.getDocumentKey() == null || event.getOperationType() == null) {
+            return;
+        }
+        String id = idOf(raw.getDocumentKey());
+        if (id == null) {
+            return;
+        }
+        TutorialEvent tutorialEvent = switch (event.getOperationType()) {
+            case INSERT -> new TutorialEvent(TutorialEvent.CREATED, id, summaryOf(event.getBody()));
+            case UPDATE, REPLACE -> new TutorialEvent(TutorialEvent.UPDATED, id, summaryOf(event.getBody()));
+            case DELETE -> new TutorialEvent(TutorialEvent.DELETED, id, null);
+            default -> null;
+        };
+        if (tutorialEvent != null) {
+            broadcast(tutorialEvent);
+        }
+    }
+
+    // Ids are normally ObjectIds, but documents written with a client-chosen string id must not break the stream
+    static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : null;
+    }
+
+    // Called from the single change stream subscription only, so sequence order is emission order
+    void broadcast(TutorialEvent event) {
+        event.setSequence(sequence.incrementAndGet());
+        sink.tryEmitNext(event);
+    }
+
+    private static boolean isHistoryLost(Throwable failure) {
+        return NestedExceptionUtils.getMostSpecificCause(failure) instanceof MongoCommandException e
+                && e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST;
+    }
+
+    // Same shape as feed items, so clients can merge events straight into a loaded page
+    private static TutorialSummary summaryOf(Tutorial tutorial) {
+        if (tutorial == null) {
+            return null; // Deleted again before the update lookup ran
+        }
+        TutorialSummary summary = new TutorialSummary();
+        summary.setId(tutorial.getId());
+        summary.setTitle(tutorial.getTitle());
+        summary.setDescription(shortDescription(tutorial.getDescription()));
+        summary.setTags(tutorial.getTags());
+        summary.setCreatorId(tutorial.getCreatorId());
+        summary.setVersion(tutorial.getVersion());
+        summary.setLikes(tutorial.getLikes());
+        summary.setCommentCount(tutorial.getCommentCount());
+        return summary;
+    }
+
+    // The same cut the list queries make in Mongo: whole code points, so an emoji is never split in half
+    private static String shortDescription(String description) {
+        if (description == null || description.codePointCount(0, description.length()) <= TutorialSummary.DESCRIPTION_LENGTH) {
+            return description;
+        }
+        return description.substring(0, description.offsetByCodePoints(0, TutorialSummary.DESCRIPTION_LENGTH)) + "...";
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.IdempotencyRecord;
+import com.example.tutorialapp.model.Tutorial;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tutorial creation with Idempotency-Key support and an optional write-behind mode.
+ * <p>
+ * Every create gets its id before anything is written, and an idempotency key is claimed by inserting
+ * a record keyed on (creator, key) that points at that id. A retried request therefore finds the claim
+ * and returns the same tutorial instead of creating a second one, and re-inserting a tutorial that
+ * already exists is a harmless duplicate-key error.
+ * <p>
+ * With tutorial.ingest.async=true a create is acknowledged (202) once it is fsynced to a local append
+ * log, and a single background writer inserts queued creates into Mongo in unordered batches. Creates
+ * still in the log when the process stops are replayed on the next start. When more than
+ * tutorial.ingest.queue-capacity creates are waiting, new ones are rejected rather than queued.
+ */
+@Service
+public class TutorialIngestService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorialIngestService.class);
+
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    public record Result(Tutorial tutorial, boolean pending) {
+    }
+
+    // What the log holds for one accepted create
+    record LoggedCreate(String idempotencyId, String fingerprint, Tutorial tutorial) {
+    }
+
+    private record Queued(LoggedCreate create, IngestLog.Position position) {
+    }
+
+    @Autowired
+    private TutorialService tutorialService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TutorialCache tutorialCache;
+
+    @Autowired
+    private TagStatistics tagStatistics;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
+    @Autowired
+    private AuthorStatsService authorStats;
+
+    @Autowired
+    private SnippetStore snippetStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tutorial.ingest.async:false}")
+    private boolean async;
+
+    @Value("${tutorial.ingest.dir:data/ingest}")
+    private String logDir;
+
+    @Value("${tutorial.ingest.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${tutorial.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tutorial.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${tutorial.ingest.max-retry-backoff-ms:30000}")
+    private long maxRetryBackoffMs;
+
+    private IngestLog log;
+    private final BlockingQueue<Queued> queue = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    // Accepted but not yet written; also answers retries that arrive before the writer catches up
+    private final Map<String, Tutorial> pendingByKey = new ConcurrentHashMap<>();
+    // The same creates by tutorial id, so the Location of a 202 resolves before the writer catches up
+    private final Map<String, Tutorial> pendingById = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean running;
+    private Thread writer;
+
+    // Null until metrics are bound
+    private Counter rejected;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!async) {
+            return;
+        }
+        log = new IngestLog(Path.of(logDir), segmentBytes);
+        List<IngestLog.Entry> replay = log.open();
+        for (IngestLog.Entry entry : replay) {
+            LoggedCreate create = objectMapper.readValue(entry.line(), LoggedCreate.class);
+            if (create.idempotencyId() != null) {
+                pendingByKey.put(create.idempotencyId(), create.tutorial());
+            }
+            pendingById.put(create.tutorial().getId(), create.tutorial());
+            queue.add(new Queued(create, entry.end()));
+            pending.incrementAndGet();
+        }
+        if (!replay.isEmpty()) {
+            logger.info("Replaying {} tutorial creates from the ingest log", replay.size());
+        }
+    }
+
+    // Requests can be accepted as soon as the log is open; writing waits until the app is fully up
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!async) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("tutorial-ingest-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (log != null) {
+            // Anything not yet written stays in the log and is replayed on the next start
+            log.close();
+        }
+    }
+
+    /**
+     * Creates the tutorial, or returns the one an earlier request with the same idempotency key created.
+     * The result is pending when the tutorial is queued but not yet in Mongo.
+     */
+    public Result create(Tutorial tutorial, String idempotencyKey) {
+        String idempotencyId = null;
+        String fingerprint = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+            }
+            idempotencyId = tutorial.getCreatorId() + ":" + idempotencyKey;
+            fingerprint = fingerprint(tutorial);
+        }
+        return async ? enqueue(tutorial, idempotencyId, fingerprint) : createNow(tutorial, idempotencyId, fingerprint);
+    }
+
+    // A create accepted by this instance but not yet in Mongo, or null
+    public Tutorial getPending(String id) {
+        return pendingById.get(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejected = Counter.builder("tutorial.ingest.rejected")
+                .description("Creates rejected because the write-behind queue was full")
+                .register(registry);
+        batchTimer = Timer.builder("tutorial.ingest.batch")
+                .description("Writing one batch of queued creates to Mongo")
+                .register(registry);
+        Gauge.builder("tutorial.ingest.pending", pending, AtomicInteger::get)
+                .description("Creates accepted but not yet written to Mongo")
+                .register(registry);
+    }
+
+    private Result createNow(Tutorial tutorial, String idempotencyId, String fingerprint) {
+        tutorial.setId(new ObjectId().toHexString());
+        tutorial.setVersion(null); // A version from the body would turn save() into a versioned update of the new id
+        if (idempotencyId != null) {
+            IdempotencyRecord claim = claim(idempotencyId, tutorial.getId(), fingerprint);
+            if (claim != null) {
+                Tutorial existing = mongoTemplate.findById(claim.getTutorialId(), Tutorial.class);
+                if (existing != null) {
+                    return new Result(snippetStore.resolve(existing), false);
+                }
+                // The earlier attempt claimed the key but failed before its insert; finish it under the same id
+                tutorial.setId(claim.getTutorialId());
+            }
+        }
+        try {
+            return new Result(tutorialService.createTutorial(tutorial), false);
+        } catch (DuplicateKeyException e) {
+            // A concurrent retry inserted it first
+            return new Result(snippetStore.resolve(mongoTemplate.findById(tutorial.getId(), Tutorial.class)), false);
+        }
+    }
+
+    private Result enqueue(Tutorial tutorial, String idempotencyId, String fingerprint) {
+        tutorial.setId(new ObjectId().toHexString());
+        tutorial.setVersion(0L); // What save() would have assigned; bulk inserts leave it as given
+        if (idempotencyId != null) {
+            Tutorial queued = pendingByKey.putIfAbsent(idempotencyId, tutorial);
+            if (queued != null) {
+                checkFingerprint(fingerprint, fingerprint(queued));
+                return new Result(queued, true);
+            }
+            IdempotencyRecord claim = mongoTemplate.findById(idempotencyId, IdempotencyRecord.class);
+            if (claim != null) {
+                pendingByKey.remove(idempotencyId, tutorial);
+                checkFingerprint(fingerprint, claim.getFingerprint());
+                Tutorial existing = mongoTemplate.findById(claim.getTutorialId(), Tutorial.class);
+                if (existing != null) {
+                    return new Result(snippetStore.resolve(existing), false);
+                }
+                Tutorial placeholder = new Tutorial();
+                placeholder.setId(claim.getTutorialId());
+                return new Result(placeholder, true);
+            }
+        }
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            if (idempotencyId != null) {
+                pendingByKey.remove(idempotencyId, tutorial);
+            }
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new RejectedExecutionException("Too many tutorial creates are waiting to be written");
+        }
+        // Before it is queued, so the writer cannot finish with it first and leave it behind
+        pendingById.put(tutorial.getId(), tutorial);
+        try {
+            LoggedCreate create = new LoggedCreate(idempotencyId, fingerprint, tutorial);
+            String line = objectMapper.writeValueAsString(create);
+            synchronized (appendLock) {
+                // Queue order must match log order, or a checkpoint could pass an unwritten create
+                queue.add(new Queued(create, log.append(line)));
+            }
+            log.sync();
+        } catch (IOException e) {
+            pendingById.remove(tutorial.getId());
+            throw new UncheckedIOException("Failed to record tutorial create", e);
+        }
+        return new Result(tutorial, true);
+    }
+
+    // Inserts the claim, or returns the existing one for this key
+    private IdempotencyRecord claim(String idempotencyId, String tutorialId, String fingerprint) {
+        try {
+            mongoTemplate.insert(new IdempotencyRecord(idempotencyId, tutorialId, fingerprint, Instant.now()));
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(idempotencyId, IdempotencyRecord.class);
+            if (existing == null) {
+                // Expired between our insert and read; the key is free again
+                return claim(idempotencyId, tutorialId, fingerprint);
+            }
+            checkFingerprint(fingerprint, existing.getFingerprint());
+            return existing;
+        }
+    }
+
+    private void drain() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Queued first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithRetry(List<Queued> batch) throws InterruptedException {
+        long backoffMs = 100;
+        while (running) {
+            try {
+                if (batchTimer != null) {
+                    batchTimer.record(() -> write(batch));
+                } else {
+                    write(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                // Every step is idempotent, so the whole batch is simply retried
+                logger.warn("Writing {} queued tutorial creates failed, retrying in {}ms: {}",
+                        batch.size(), backoffMs, e.getMessage());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, maxRetryBackoffMs);
+            }
+        }
+    }
+
+    private void write(List<Queued> batch) {
+        List<Tutorial> claimed = claimKeys(batch);
+        List<Tutorial> inserted = insertNew(claimed);
+        if (!inserted.isEmpty()) {
+            tutorialCache.onBulkCreated(inserted);
+            inserted.forEach(tutorial -> {
+                tagStatistics.onTagsChanged(null, tutorial.getTags());
+                trendingFeed.record(tutorial.getId(), tutorial.getTags(), TrendingFeed.Activity.CREATE);
+            });
+            authorStats.onCreated(inserted);
+        }
+        try {
+            log.commit(batch.get(batch.size() - 1).position());
+        } catch (IOException e) {
+            // Only means these creates are replayed (as duplicates) after a restart
+            logger.warn("Failed to checkpoint the ingest log: {}", e.getMessage());
+        }
+        for (Queued queued : batch) {
+            if (queued.create().idempotencyId() != null) {
+                pendingByKey.remove(queued.create().idempotencyId(), queued.create().tutorial());
+            }
+            pendingById.remove(queued.create().tutorial().getId());
+        }
+        pending.addAndGet(-batch.size());
+    }
+
+    // Returns the tutorials whose idempotency key (if any) is claimed for them
+    private List<Tutorial> claimKeys(List<Queued> batch) {
+        List<Tutorial> tutorials = new ArrayList<>(batch.size());
+        List<IdempotencyRecord> records = new ArrayList<>();
+        for (Queued queued : batch) {
+            LoggedCreate create = queued.create();
+            // The queued original keeps its full snippet; only the written copy is compacted
+            tutorials.add(snippetStore.compact(create.tutorial()));
+            if (create.idempotencyId() != null) {
+                records.add(new IdempotencyRecord(create.idempotencyId(), create.tutorial().getId(),
+                        create.fingerprint(), Instant.now()));
+            }
+        }
+        if (records.isEmpty()) {
+            return tutorials;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IdempotencyRecord.class);
+        bulkOps.insert(records);
+        try {
+            bulkOps.execute();
+        } catch (BulkOperationException e) {
+            Set<String> lost = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                IdempotencyRecord ours = records.get(error.getIndex());
+                IdempotencyRecord existing = mongoTemplate.findById(ours.getId(), IdempotencyRecord.class);
+                // Same tutorial id means this create is being replayed; anything else lost the key to another instance
+                if (existing != null && !existing.getTutorialId().equals(ours.getTutorialId())) {
+                    logger.info("Dropping queued create {}: key {} already created {}",
+                            ours.getTutorialId(), ours.getId(), existing.getTutorialId());
+                    lost.add(ours.getTutorialId());
+                }
+            }
+            tutorials.removeIf(tutorial -> lost.contains(tutorial.getId()));
+        }
+        return tutorials;
+    }
+
+    // Returns the tutorials this call actually inserted
+    private List<Tutorial> insertNew(List<Tutorial> tutorials) {
+        if (tutorials.isEmpty()) {
+            return tutorials;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Tutorial.class);
+        bulkOps.insert(tutorials);
+        try {
+            bulkOps.execute();
+            return tutorials;
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                if (error.getCode() != DUPLICATE_KEY) {
+                    // Rejected by the server for this document alone; retrying cannot help
+                    logger.error("Dropping queued create {}: {}", tutorials.get(error.getIndex()).getId(), error.getMessage());
+                }
+            }
+            List<Tutorial> inserted = new ArrayList<>(tutorials.size() - failed.size());
+            for (int i = 0; i < tutorials.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(tutorials.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private static void checkFingerprint(String requested, String recorded) {
+        if (!requested.equals(recorded)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different tutorial");
+        }
+    }
+
+    private static String fingerprint(Tutorial tutorial) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[]{tutorial.getTitle(), tutorial.getDescription(), tutorial.getCodeSnippet(),
+                    tutorial.getTags() == null ? null : String.join("\u0001", tutorial.getTags())}) {
+                digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
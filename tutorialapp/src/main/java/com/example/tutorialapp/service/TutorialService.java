@@ -1,41 +1,216 @@
 package com.example.tutorialapp.service;
 
+import com.example.tutorialapp.model.CursorPage;
 import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import com.example.tutorialapp.model.TutorialSummary;
 import com.example.tutorialapp.repository.TutorialRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class TutorialService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Deep offsets get slower with every skipped match, so search only ranks this many results
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
     @Autowired
     private TutorialRepository tutorialRepository;
 
+    @Autowired
+    private TutorialCache tutorialCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TutorialEngagementService engagementService;
+
+    @Autowired
+    private TagStatistics tagStatistics;
+
+    @Autowired
+    private AuthorStatsService authorStats;
+
+    @Autowired
+    private SnippetStore snippetStore;
+
+    @Autowired
+    private TrendingFeed trendingFeed;
+
     public Tutorial createTutorial(Tutorial tutorial) {
-        return tutorialRepository.save(tutorial);
+        Tutorial created = tutorialRepository.save(snippetStore.compact(tutorial));
+        onCreated(created);
+        return snippetStore.resolve(created);
+    }
+
+    // After-write bookkeeping, shared with ReactiveTutorialService; blocking (Mongo, and Redis when the cache is distributed)
+    public void onCreated(Tutorial created) {
+        tutorialCache.onCreated(created);
+        tagStatistics.onTagsChanged(null, created.getTags());
+        authorStats.onCreated(List.of(created));
+        trendingFeed.record(created.getId(), created.getTags(), TrendingFeed.Activity.CREATE);
+    }
+
+    public void onUpdated(Tutorial previous, Tutorial updated) {
+        tutorialCache.onUpdated(previous, updated);
+        tagStatistics.onTagsChanged(previous.getTags(), updated.getTags());
+        trendingFeed.record(updated.getId(), updated.getTags(), TrendingFeed.Activity.EDIT);
+    }
+
+    // removed needs only the id, tags and creatorId that findAndRemove returns
+    public void onDeleted(Tutorial removed) {
+        engagementService.onTutorialDeleted(removed.getId());
+        tutorialCache.onDeleted(removed);
+        tagStatistics.onTagsChanged(removed.getTags(), null);
+        authorStats.onDeleted(removed.getCreatorId());
+        trendingFeed.onDeleted(removed.getId());
+    }
+
+    public CursorPage<TutorialSummary> getTutorialFeed(String after, int size) {
+        int pageSize = clampPageSize(size);
+        if (after == null || after.isBlank()) {
+            return tutorialCache.getFirstFeedPage(pageSize, () -> loadFeedPage(null, pageSize));
+        }
+        return loadFeedPage(FeedCursor.decode(after), pageSize);
+    }
+
+    private CursorPage<TutorialSummary> loadFeedPage(String afterId, int pageSize) {
+        // Fetch one extra document to find out whether another page exists
+        return toPage(tutorialRepository.findFeedPage(afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // An author's posts, newest first; the cursor continues with older posts
+    public CursorPage<TutorialSummary> getAuthorTutorials(String creatorId, String after, int size) {
+        int pageSize = clampPageSize(size);
+        String beforeId = after == null || after.isBlank() ? null : FeedCursor.decode(after);
+        return toPage(tutorialRepository.findAuthorPage(creatorId, beforeId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // Takes pageSize + 1 results; the extra one only signals that another page exists
+    private static CursorPage<TutorialSummary> toPage(List<TutorialSummary> tutorials, int pageSize) {
+        if (tutorials.size() <= pageSize) {
+            return new CursorPage<>(tutorials, null);
+        }
+        List<TutorialSummary> page = tutorials.subList(0, pageSize);
+        return new CursorPage<>(page, FeedCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * A page of the trending ranking, site-wide or for one tag. The ranking is materialized in the
+     * background, so this is a slice of a list plus one lookup of the page's ids.
+     */
+    public List<TutorialSummary> getTrending(String tag, int page, int size) {
+        int pageSize = clampPageSize(size);
+        if (page < 0 || (long) (page + 1) * pageSize > trendingFeed.listSize()) {
+            throw new IllegalArgumentException("Trending is limited to the first " + trendingFeed.listSize() + " tutorials");
+        }
+        List<String> ids = trendingFeed.page(tag, page * pageSize, pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, TutorialSummary> byId = new HashMap<>();
+        tutorialRepository.findSummariesByIdIn(ids).forEach(summary -> byId.put(summary.getId(), summary));
+        // Back in rank order; tutorials deleted since the last refresh are skipped
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    public List<Tutorial> getAllTutorials() {
-        return tutorialRepository.findAll();
+    public void streamAllTutorials(Consumer<TutorialSummary> consumer) {
+        try (Stream<TutorialSummary> tutorials = tutorialRepository.streamSummaries()) {
+            tutorials.forEach(consumer);
+        }
     }
 
-    public List<Tutorial> searchTutorialsByTag(String tag) {
-        return tutorialRepository.findByTagsContaining(tag);
+    public List<TutorialSummary> searchTutorials(String text, List<String> tags, boolean matchAll, int page, int size) {
+        int pageSize = clampPageSize(size);
+        checkSearchWindow(page, pageSize);
+        List<String> normalizedTags = normalizeTags(tags);
+
+        if ((text == null || text.isBlank()) && !normalizedTags.isEmpty()) {
+            // Tag-only searches can be invalidated precisely, so they are cached
+            return tutorialCache.getTagSearch(normalizedTags, matchAll, page, pageSize,
+                    () -> loadSearch(null, normalizedTags, matchAll, page, pageSize));
+        }
+        return loadSearch(text, normalizedTags, matchAll, page, pageSize);
     }
 
-    public void deleteTutorial(String id) {
-        tutorialRepository.deleteById(id);
+    private List<TutorialSummary> loadSearch(String text, List<String> tags, boolean matchAll, int page, int pageSize) {
+        return tutorialRepository.search(text, tags, matchAll, page, pageSize);
     }
 
-    public Tutorial updateTutorial(String id, Tutorial updatedTutorial) {
-        updatedTutorial.setId(id); // Ensure the ID is set to the one from the URL
-        return tutorialRepository.save(updatedTutorial);
+    /**
+     * Deletes with one conditional findAndRemove on _id and creatorId, so ownership is checked without
+     * loading the document first; only its tags and creatorId come back.
+     */
+    public void deleteTutorial(String id, String userId) {
+        Tutorial removed = mongoTemplate.findAndRemove(TutorialUpdates.ownedForDelete(id, userId), Tutorial.class);
+        if (removed == null) {
+            Tutorial current = mongoTemplate.findOne(TutorialUpdates.ownershipProjection(id), Tutorial.class);
+            throw TutorialUpdates.deleteFailure(current, id);
+        }
+        onDeleted(removed);
     }
 
+    /**
+     * Applies the non-null fields of the patch in one conditional findAndModify on _id, creatorId and
+     * (if given) version, so ownership is checked and the edit is written in a single round-trip.
+     */
+    public Tutorial patchTutorial(String id, String userId, TutorialPatch patch) {
+        SnippetStore.Stored snippet = snippetStore.store(patch.getCodeSnippet());
+        Update update = TutorialUpdates.toUpdate(patch, snippet);
+        Tutorial previous = mongoTemplate.findAndModify(
+                TutorialUpdates.ownedBy(id, userId, patch.getVersion()), update,
+                FindAndModifyOptions.options().returnNew(false), Tutorial.class);
+        if (previous == null) {
+            Tutorial current = mongoTemplate.findOne(TutorialUpdates.ownershipProjection(id), Tutorial.class);
+            throw TutorialUpdates.updateFailure(current, id, userId);
+        }
+        Tutorial updated = TutorialUpdates.applied(previous, patch, snippet);
+        onUpdated(previous, updated);
+        return snippetStore.resolve(updated);
+    }
+
+    // Cached in compact form; a separately stored snippet is only inflated here, for the single-tutorial view
     public Tutorial getTutorialById(String id) {
-        return tutorialRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tutorial not found with id: " + id));
+        Tutorial tutorial = tutorialCache.getById(id, key -> tutorialRepository.findById(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tutorial not found with id: " + key)));
+        trendingFeed.record(id, tutorial.getTags(), TrendingFeed.Activity.VIEW);
+        return snippetStore.resolve(tutorial);
+    }
+
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    static void checkSearchWindow(int page, int pageSize) {
+        if (page < 0 || (long) (page + 1) * pageSize > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search is limited to the first " + MAX_SEARCH_RESULTS + " results");
+        }
+    }
+
+    static List<String> normalizeTags(List<String> tags) {
+        return tags == null ? List.of() : tags.stream()
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
     }
-}
\ No newline at end of file
+}
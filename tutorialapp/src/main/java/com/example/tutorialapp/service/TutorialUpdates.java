@@ -0,0 +1,105 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Builds the single conditional findAndModify used for tutorial edits: the filter matches on _id and
+ * creatorId (and version when the client sends one) and the update only $sets the patched fields.
+ * Shared by the blocking and reactive services.
+ */
+final class TutorialUpdates {
+
+    private TutorialUpdates() {
+    }
+
+    static Query ownedBy(String id, String creatorId, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id).and("creatorId").is(creatorId);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return Query.query(criteria);
+    }
+
+    // snippet is how SnippetStore stored patch.codeSnippet; ignored when the patch leaves the snippet alone
+    static Update toUpdate(TutorialPatch patch, SnippetStore.Stored snippet) {
+        Update update = new Update();
+        if (patch.getTitle() != null) {
+            update.set("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            update.set("description", patch.getDescription());
+        }
+        if (patch.getCodeSnippet() != null) {
+            update.set("codeSnippet", snippet.inline());
+            if (snippet.ref() != null) {
+                update.set("snippetRef", snippet.ref());
+            } else {
+                update.unset("snippetRef");
+            }
+        }
+        if (patch.getTags() != null) {
+            update.set("tags", patch.getTags());
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        return update.inc("version", 1);
+    }
+
+    // Projection used only to explain why a conditional update matched nothing
+    static Query ownershipProjection(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include("creatorId", "version");
+        return query;
+    }
+
+    // Conditional delete filter; brings back only what cache and statistics bookkeeping need
+    static Query ownedForDelete(String id, String creatorId) {
+        Query query = ownedBy(id, creatorId, null);
+        query.fields().include("creatorId", "tags");
+        return query;
+    }
+
+    static RuntimeException deleteFailure(Tutorial current, String id) {
+        if (current == null) {
+            return new RuntimeException("Tutorial not found with id: " + id);
+        }
+        return new RuntimeException("Unauthorized to delete this tutorial");
+    }
+
+    static RuntimeException updateFailure(Tutorial current, String id, String creatorId) {
+        if (current == null) {
+            return new RuntimeException("Tutorial not found with id: " + id);
+        }
+        if (!creatorId.equals(current.getCreatorId())) {
+            return new RuntimeException("Unauthorized to update this tutorial");
+        }
+        return new OptimisticLockingFailureException(
+                "Tutorial " + id + " was modified concurrently; current version is " + current.getVersion());
+    }
+
+    // The document as it is after the update, derived from the pre-image findAndModify returned;
+    // fields the patch cannot touch carry over as they are
+    static Tutorial applied(Tutorial previous, TutorialPatch patch, SnippetStore.Stored snippet) {
+        Tutorial.TutorialBuilder updated = previous.toBuilder()
+                .version(previous.getVersion() == null ? 1 : previous.getVersion() + 1);
+        if (patch.getTitle() != null) {
+            updated.title(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            updated.description(patch.getDescription());
+        }
+        if (patch.getCodeSnippet() != null) {
+            updated.codeSnippet(snippet.inline()).snippetRef(snippet.ref());
+        }
+        if (patch.getTags() != null) {
+            updated.tags(patch.getTags());
+        }
+        return updated.build();
+    }
+}
@@ -1,29 +1,120 @@
 package com.example.tutorialapp.service;
 
+import com.example.tutorialapp.model.CacheInvalidation;
 import com.example.tutorialapp.model.User;
 import com.example.tutorialapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, MeterBinder {
+
+    private static final String SHARED_KEY_PREFIX = "user:";
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DistributedCache distributedCache;
+
+    @Value("${user.cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${user.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${user.login-cache.ttl-seconds:300}")
+    private long loginCacheTtlSeconds;
+
+    // Users by email; null when the cache is disabled (ttl <= 0)
+    private Cache<String, User> userCache;
+
+    // Users by provider:providerId as last written by a login; null when disabled (ttl <= 0)
+    private Cache<String, User> loginCache;
+
+    // Null until metrics are bound
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void init() {
+        if (cacheTtlSeconds > 0) {
+            userCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                    .recordStats()
+                    .build();
+        }
+        if (loginCacheTtlSeconds > 0) {
+            loginCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(Duration.ofSeconds(loginCacheTtlSeconds))
+                    .recordStats()
+                    .build();
+        }
+        // Another instance saw a login change this user's profile
+        distributedCache.subscribe(invalidation -> {
+            if (CacheInvalidation.USER_CHANGED.equals(invalidation.getType()) && userCache != null) {
+                userCache.invalidate(invalidation.getId());
+            }
+        });
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        User user = userCache != null ? userCache.get(username, this::loadShared) : loadShared(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found with email: " + username);
+        }
+        return user;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        if (userCache != null) {
+            CaffeineCacheMetrics.monitor(registry, userCache, "users");
+        }
+        if (loginCache != null) {
+            CaffeineCacheMetrics.monitor(registry, loginCache, "userLogins");
+        }
     }
 
     public User processOAuth2User(String provider, Map<String, Object> attributes) {
+        if (meterRegistry == null) {
+            return upsertOAuth2User(provider, attributes);
+        }
+        return Timer.builder("oauth2.user.process")
+                .description("OAuth2 login user lookup and save")
+                .tag("provider", provider)
+                .register(meterRegistry)
+                .record(() -> upsertOAuth2User(provider, attributes));
+    }
+
+    private User upsertOAuth2User(String provider, Map<String, Object> attributes) {
         String providerId;
         String email;
         String name;
@@ -40,19 +131,72 @@ public class UserService implements UserDetailsService {
             throw new IllegalArgumentException("Unsupported provider: " + provider);
         }
 
-        Optional<User> existingUser = userRepository.findByProviderAndProviderId(provider, providerId);
+        // Repeat logins with unchanged profile attributes never reach Mongo
+        String loginKey = provider + ":" + providerId;
+        User known = loginCache != null ? loginCache.getIfPresent(loginKey) : null;
+        if (known != null && email.equals(known.getEmail()) && Objects.equals(name, known.getName())) {
+            return known;
+        }
+
+        User user = upsert(provider, providerId, email, name);
+        if (loginCache != null) {
+            loginCache.put(loginKey, user);
+        }
+        return user;
+    }
+
+    /**
+     * Single findAndModify upsert on the unique (provider, providerId) pair. A $set with unchanged values
+     * is a no-op on the server, so an existing user is only rewritten when the profile changed.
+     */
+    private User upsert(String provider, String providerId, String email, String name) {
+        Query query = Query.query(Criteria.where("provider").is(provider).and("providerId").is(providerId));
+        Update update = new Update().set("email", email).set("name", name);
+        User previous;
+        try {
+            previous = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(false), User.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent first login inserted the user between our match and insert; it matches now
+            previous = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), User.class);
+        }
+
         User user;
-        if (existingUser.isPresent()) {
-            user = existingUser.get();
-            user.setEmail(email);
-            user.setName(name);
+        if (previous == null) {
+            // Inserted: the only case that needs a second round-trip, to learn the generated id
+            user = mongoTemplate.findOne(query, User.class);
+            if (user == null) {
+                throw new RuntimeException("Failed to create user for " + provider + " account " + providerId);
+            }
         } else {
-            user = new User();
-            user.setProvider(provider);
-            user.setProviderId(providerId);
+            evictCachedUser(previous.getEmail());
+            user = previous;
             user.setEmail(email);
             user.setName(name);
         }
-        return userRepository.save(user);
+        evictCachedUser(email);
+        return user;
+    }
+
+    private User loadShared(String email) {
+        User user = distributedCache.get(SHARED_KEY_PREFIX + email, User.class);
+        if (user == null) {
+            user = userRepository.findByEmail(email).orElse(null);
+            if (user != null) {
+                distributedCache.putIfAbsent(SHARED_KEY_PREFIX + email, user);
+            }
+        }
+        return user;
+    }
+
+    private void evictCachedUser(String email) {
+        if (email == null) {
+            return;
+        }
+        if (userCache != null) {
+            userCache.invalidate(email);
+        }
+        distributedCache.evict(SHARED_KEY_PREFIX + email);
+        distributedCache.publish(new CacheInvalidation(CacheInvalidation.USER_CHANGED, email, null, null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.tutorialapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsConfigTest() {
+        new NativeHintsConfig.ApplicationHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jjwtImplementationsCanBeInstantiated() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+
+    @Test
+    void registeredTypesExist() throws ClassNotFoundException {
+        // A renamed class would otherwise only show up as a failure inside the native image
+        for (var type : hints.reflection().typeHints().toList()) {
+            Class.forName(type.getType().getName(), false, getClass().getClassLoader());
+        }
+    }
+
+    @Test
+    void propertySourceDefaultsAreIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("metrics.properties").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("distributed.properties").test(hints));
+    }
+}
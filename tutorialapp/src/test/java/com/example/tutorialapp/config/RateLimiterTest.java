@@ -0,0 +1,55 @@
+package com.example.tutorialapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void allowsBurstUpToCapacityThenRefillsAtRate() {
+        RateLimiter limiter = new RateLimiter(3, 2, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("user:a"));
+        assertEquals(0, limiter.tryAcquire("user:a"));
+        assertEquals(0, limiter.tryAcquire("user:a"));
+        long wait = limiter.tryAcquire("user:a");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+        // Other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("user:a"));
+        assertTrue(limiter.tryAcquire("user:a") > 0);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        RateLimiter limiter = new RateLimiter(1, 1, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("k"));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("k") > 0);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("k"));
+    }
+
+    @Test
+    void groupsOnlyExpensiveEndpoints() {
+        assertEquals(RateLimitFilter.WRITE, RateLimitFilter.groupOf("POST", "/api/tutorials"));
+        assertEquals(RateLimitFilter.WRITE, RateLimitFilter.groupOf("PATCH", "/api/tutorials/abc"));
+        assertEquals(RateLimitFilter.BULK, RateLimitFilter.groupOf("POST", "/api/tutorials/bulk"));
+        assertEquals(RateLimitFilter.SEARCH, RateLimitFilter.groupOf("GET", "/api/tutorials/search"));
+        assertNull(RateLimitFilter.groupOf("GET", "/api/tutorials/feed"));
+        assertNull(RateLimitFilter.groupOf("POST", "/api/auth/logout"));
+    }
+}
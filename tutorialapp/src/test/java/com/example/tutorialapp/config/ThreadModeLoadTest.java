@@ -0,0 +1,86 @@
+package com.example.tutorialapp.config;
+
+import com.example.tutorialapp.TutorialappApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under a burst of requests that each block
+ * for {@link #BLOCKING_MILLIS} ms, standing in for a synchronous Mongo or OAuth2 call. Tomcat is capped at
+ * {@link #PLATFORM_THREADS} threads, so the platform mode needs several waves while virtual threads take
+ * the whole burst at once.
+ *
+ * Run with {@code mvn test -Dtest=ThreadModeLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModeLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int PLATFORM_THREADS = 50;
+    private static final long BLOCKING_MILLIS = 1000;
+
+    @Test
+    void virtualThreadsScaleBeyondTheTomcatPool() throws Exception {
+        long platformMillis = runBurst(false);
+        long virtualMillis = runBurst(true);
+
+        System.out.printf("%d blocking requests: platform threads %d ms, virtual threads %d ms (%.1fx)%n",
+                CONCURRENT_REQUESTS, platformMillis, virtualMillis, (double) platformMillis / virtualMillis);
+        assertTrue(virtualMillis < platformMillis, "virtual-thread mode should finish the burst sooner");
+    }
+
+    private long runBurst(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TutorialappApplication.class, BlockingProbe.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.main.banner-mode=off")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/auth/load-probe");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // Warm up the connector and dispatcher before timing
+            client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(virtualThreads ? "virtual" : "platform", response.join().body());
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    @TestConfiguration
+    @RestController
+    static class BlockingProbe {
+        @GetMapping("/api/auth/load-probe")
+        public String probe() throws InterruptedException {
+            Thread.sleep(BLOCKING_MILLIS);
+            return Thread.currentThread().isVirtual() ? "virtual" : "platform";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.tutorialapp.controller;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ETagsTest {
+
+    @Test
+    void tutorialTagChangesWithVersionAndCounters() {
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId("t1");
+        assertEquals("W/\"t1.0.0.0\"", ETags.of(tutorial));
+
+        tutorial.setVersion(4L);
+        assertEquals("W/\"t1.4.0.0\"", ETags.of(tutorial));
+
+        tutorial.setLikes(7);
+        assertEquals("W/\"t1.4.7.0\"", ETags.of(tutorial));
+    }
+
+    @Test
+    void pageTagChangesWhenAnyItemCounterOrTheCursorChanges() {
+        String base = ETags.of(List.of(summary("a", 1L), summary("b", 1L)), "c1");
+
+        assertEquals(base, ETags.of(List.of(summary("a", 1L), summary("b", 1L)), "c1"));
+        assertNotEquals(base, ETags.of(List.of(summary("a", 1L), summary("b", 2L)), "c1"));
+        assertNotEquals(base, ETags.of(List.of(summary("a", 1L)), "c1"));
+        TutorialSummary liked = summary("b", 1L);
+        liked.setLikes(1);
+        assertNotEquals(base, ETags.of(List.of(summary("a", 1L), liked), "c1"));
+        assertNotEquals(base, ETags.of(List.of(summary("a", 1L), summary("b", 1L)), null));
+    }
+
+    private static TutorialSummary summary(String id, Long version) {
+        TutorialSummary summary = new TutorialSummary();
+        summary.setId(id);
+        summary.setVersion(version);
+        return summary;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.AuthorStats;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import com.example.tutorialapp.repository.TutorialRepository;
+import com.example.tutorialapp.repository.TutorialRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Runs against an in-process Mongo stand-in
+class AuthorStatsServiceTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private AuthorStatsService authorStats;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create("mongodb://localhost:" + server.bind().getPort());
+        mongoTemplate = new MongoTemplate(client, "authors-test");
+        authorStats = new AuthorStatsService();
+        ReflectionTestUtils.setField(authorStats, "mongoTemplate", mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void countsUnknownAuthorsLiveWithoutStoringAnything() {
+        insert("alice", 2);
+
+        assertEquals(2, authorStats.getStats("alice").getTutorialCount());
+        assertEquals(0, authorStats.getStats("nobody").getTutorialCount());
+        assertEquals(0, mongoTemplate.count(new Query(), AuthorStats.class));
+    }
+
+    @Test
+    void createsAndDeletesAdjustTheStoredCount() {
+        authorStats.onCreated(insert("alice", 3));
+        assertEquals(3, authorStats.getStats("alice").getTutorialCount());
+
+        authorStats.onDeleted("alice");
+        assertEquals(2, authorStats.getStats("alice").getTutorialCount());
+
+        // A delete for an author without a document never stores a negative count
+        authorStats.onDeleted("bob");
+        assertNull(mongoTemplate.findById("bob", AuthorStats.class));
+    }
+
+    @Test
+    void reconcileBackfillsCorrectsAndRemovesCounts() {
+        insert("alice", 3); // Posted before the counter existed
+        insert("bob", 1);
+        mongoTemplate.save(new AuthorStats("bob", 7)); // Drifted
+        mongoTemplate.save(new AuthorStats("carol", 2)); // No tutorials left
+
+        authorStats.reconcile();
+
+        assertEquals(3, mongoTemplate.findById("alice", AuthorStats.class).getTutorialCount());
+        assertEquals(1, mongoTemplate.findById("bob", AuthorStats.class).getTutorialCount());
+        assertNull(mongoTemplate.findById("carol", AuthorStats.class));
+    }
+
+    @Test
+    void pagesAnAuthorsTutorialsNewestFirst() {
+        TutorialRepository repository = repository();
+        List<String> ids = insert("alice", 5).stream().map(Tutorial::getId).toList();
+        insert("bob", 2);
+
+        List<TutorialSummary> first = repository.findAuthorPage("alice", null, Limit.of(2));
+        assertEquals(List.of(ids.get(4), ids.get(3)), first.stream().map(TutorialSummary::getId).toList());
+
+        List<TutorialSummary> next = repository.findAuthorPage("alice", ids.get(3), Limit.of(10));
+        assertEquals(List.of(ids.get(2), ids.get(1), ids.get(0)), next.stream().map(TutorialSummary::getId).toList());
+    }
+
+    @Test
+    void listViewsGetDescriptionsShortenedByMongo() {
+        TutorialRepository repository = repository();
+        List<Tutorial> tutorials = insert("alice", 3);
+        // ASCII only: the stand-in's $substrCP counts chars where Mongo counts code points
+        tutorials.get(0).setDescription("x".repeat(TutorialSummary.DESCRIPTION_LENGTH + 1));
+        tutorials.get(1).setDescription("short");
+        tutorials.forEach(mongoTemplate::save);
+
+        List<TutorialSummary> feed = repository.findFeedPage(null, Limit.of(10));
+        assertEquals("x".repeat(TutorialSummary.DESCRIPTION_LENGTH) + "...", feed.get(0).getDescription());
+        assertEquals("short", feed.get(1).getDescription());
+        assertNull(feed.get(2).getDescription());
+        assertEquals("alice 0", feed.get(0).getTitle());
+
+        List<TutorialSummary> trending = repository.findSummariesByIdIn(List.of(tutorials.get(0).getId()));
+        assertEquals(feed.get(0).getDescription(), trending.get(0).getDescription());
+    }
+
+    private TutorialRepository repository() {
+        TutorialRepositoryImpl custom = new TutorialRepositoryImpl();
+        ReflectionTestUtils.setField(custom, "mongoTemplate", mongoTemplate);
+        return new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(TutorialRepository.class, RepositoryComposition.RepositoryFragments.just(custom));
+    }
+
+    private List<Tutorial> insert(String creatorId, int count) {
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Tutorial tutorial = new Tutorial();
+            tutorial.setId(new ObjectId().toHexString());
+            tutorial.setTitle(creatorId + " " + i);
+            tutorial.setCreatorId(creatorId);
+            tutorials.add(mongoTemplate.insert(tutorial));
+        }
+        return tutorials;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tutorialapp.service;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedCursorTest {
+
+    @Test
+    void roundTripsObjectId() {
+        String id = new ObjectId().toHexString();
+        assertEquals(id, FeedCursor.decode(FeedCursor.encode(id)));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not-a-cursor"));
+    }
+}
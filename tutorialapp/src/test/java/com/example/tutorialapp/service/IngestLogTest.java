@@ -0,0 +1,85 @@
+package com.example.tutorialapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IngestLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysOnlyRecordsAfterTheCheckpoint() throws IOException {
+        IngestLog log = new IngestLog(dir, 1024);
+        assertEquals(List.of(), log.open());
+        log.append("a");
+        IngestLog.Position b = log.append("b");
+        log.append("c");
+        log.sync();
+        log.commit(b);
+        log.close();
+
+        IngestLog reopened = new IngestLog(dir, 1024);
+        assertEquals(List.of("c"), lines(reopened.open()));
+        reopened.close();
+    }
+
+    @Test
+    void rotatesSegmentsAndDeletesCommittedOnes() throws IOException {
+        IngestLog log = new IngestLog(dir, 8);
+        log.open();
+        IngestLog.Position last = null;
+        for (int i = 0; i < 10; i++) {
+            last = log.append("record-" + i);
+        }
+        log.sync();
+        assertEquals(10, segmentCount());
+
+        log.commit(last);
+        assertEquals(1, segmentCount());
+        log.close();
+
+        IngestLog reopened = new IngestLog(dir, 8);
+        assertEquals(List.of(), reopened.open());
+        reopened.close();
+    }
+
+    @Test
+    void ignoresARecordTornByACrash() throws IOException {
+        IngestLog log = new IngestLog(dir, 1024);
+        log.open();
+        log.append("whole");
+        log.close();
+        try (Stream<Path> files = Files.list(dir)) {
+            Path segment = files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+            Files.writeString(segment, "{\"half", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+
+        IngestLog reopened = new IngestLog(dir, 1024);
+        assertEquals(List.of("whole"), lines(reopened.open()));
+        reopened.append("next");
+        reopened.close();
+
+        assertEquals(List.of("whole", "next"), lines(new IngestLog(dir, 1024).open()));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static List<String> lines(List<IngestLog.Entry> entries) {
+        return entries.stream().map(IngestLog.Entry::line).toList();
+    }
+}
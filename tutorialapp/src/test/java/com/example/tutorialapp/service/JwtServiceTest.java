@@ -0,0 +1,61 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "test-secret-key-that-is-long-enough-for-hs256-signing");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+
+        user = new User();
+        user.setId("user-1");
+        user.setEmail("dev@example.com");
+        user.setProvider("github");
+    }
+
+    @Test
+    void verifiesTokenOnceThenServesFromCache() {
+        String token = jwtService.generateToken(user);
+
+        assertEquals("dev@example.com", jwtService.extractUsername(token));
+        assertTrue(jwtService.isTokenValid(token, user));
+
+        assertEquals(1, jwtService.getCacheMissCount());
+        assertEquals(1, jwtService.getCacheHitCount());
+    }
+
+    @Test
+    void buildsPrincipalFromTokenClaims() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        User principal = jwtService.userFromClaims(claims);
+        assertEquals("user-1", principal.getId());
+        assertEquals("dev@example.com", principal.getEmail());
+        assertEquals("github", principal.getProvider());
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(tampered));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CacheInvalidation;
+import com.example.tutorialapp.model.Tutorial;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against an in-process Redis stand-in, as two instances sharing one server
+class RedisDistributedCacheTest {
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer listenerContainer;
+    private StringRedisTemplate redis;
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void sharesDocumentsBetweenInstances() {
+        RedisDistributedCache first = cache();
+        RedisDistributedCache second = cache();
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId("65f000000000000000000001");
+        tutorial.setTitle("Streams");
+        tutorial.setTags(List.of("java"));
+        tutorial.setLikes(3);
+
+        first.putIfAbsent("tutorial:" + tutorial.getId(), tutorial);
+        Tutorial shared = second.get("tutorial:" + tutorial.getId(), Tutorial.class);
+
+        assertNotNull(shared);
+        assertEquals("Streams", shared.getTitle());
+        assertEquals(3, shared.getLikes());
+
+        second.evict("tutorial:" + tutorial.getId());
+        assertNull(first.get("tutorial:" + tutorial.getId(), Tutorial.class));
+    }
+
+    @Test
+    void copyLoadedBeforeAWriteIsNotPutBackAfterItsEviction() {
+        RedisDistributedCache reader = cache();
+        RedisDistributedCache writer = cache();
+        Tutorial stale = new Tutorial();
+        stale.setId("65f000000000000000000002");
+        stale.setTitle("Before the edit");
+
+        // The reader missed and loaded from Mongo; the writer then updated the document and evicted
+        writer.evict("tutorial:" + stale.getId());
+        reader.putIfAbsent("tutorial:" + stale.getId(), stale);
+
+        assertNull(writer.get("tutorial:" + stale.getId(), Tutorial.class));
+        assertNull(reader.get("tutorial:" + stale.getId(), Tutorial.class));
+    }
+
+    @Test
+    void invalidationsReachOtherInstancesOnly() throws InterruptedException {
+        RedisDistributedCache publisher = cache();
+        RedisDistributedCache other = cache();
+        BlockingQueue<CacheInvalidation> published = new LinkedBlockingQueue<>();
+        BlockingQueue<CacheInvalidation> received = new LinkedBlockingQueue<>();
+        publisher.subscribe(published::add);
+        other.subscribe(received::add);
+        listenerContainer.start();
+
+        publisher.publish(new CacheInvalidation(CacheInvalidation.TUTORIAL_CHANGED, "t1", List.of("java"), null));
+
+        CacheInvalidation invalidation = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(invalidation);
+        assertEquals("t1", invalidation.getId());
+        assertEquals(List.of("java"), invalidation.getTags());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void revocationsExpireWithTheToken() {
+        RedisTokenRevocationStore store = new RedisTokenRevocationStore(redis, listenerContainer, "test:");
+
+        store.revoke("live", Instant.now().plusSeconds(60));
+        store.revoke("expired", Instant.now().minusSeconds(1));
+
+        assertTrue(store.isRevoked("live"));
+        assertFalse(store.isRevoked("expired"));
+        assertEquals(Set.of("live"), store.revokedTokens());
+    }
+
+    private RedisDistributedCache cache() {
+        return new RedisDistributedCache(redis, listenerContainer, converter, new ObjectMapper(), "test:",
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnippetStoreTest {
+
+    @Test
+    void deflatedSnippetInflatesToTheSameBytes() {
+        byte[] snippet = "for (int i = 0; i < n; i++) { sum += values[i]; }\n".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+        byte[] data = SnippetStore.deflate(snippet);
+
+        assertTrue(data.length < snippet.length / 10);
+        assertArrayEquals(snippet, SnippetStore.inflate(data, snippet.length));
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] snippet = "System.out.println(\"hello\");\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] data = SnippetStore.deflate(snippet);
+
+        assertThrows(IllegalStateException.class, () -> SnippetStore.inflate(data, snippet.length + 1));
+    }
+
+    @Test
+    void leavesShortSnippetsInline() {
+        // No MongoTemplate: a short snippet must never reach the snippets collection
+        SnippetStore store = new SnippetStore();
+        ReflectionTestUtils.setField(store, "inlineMaxChars", 16);
+        Tutorial tutorial = new Tutorial();
+        tutorial.setCodeSnippet("x = 1");
+
+        assertSame(tutorial, store.compact(tutorial));
+        assertSame(tutorial, store.resolve(tutorial));
+    }
+
+    @Test
+    void inlinePartNeverSplitsASurrogatePair() {
+        String snippet = "ab\uD83D\uDE00cd"; // An emoji is two chars
+
+        assertEquals("ab", SnippetStore.inlinePart(snippet, 3));
+        assertEquals("ab\uD83D\uDE00", SnippetStore.inlinePart(snippet, 4));
+        assertEquals(snippet, SnippetStore.inlinePart(snippet, 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resolvedCopyKeepsEveryOtherField() {
+        SnippetStore store = new SnippetStore();
+        ReflectionTestUtils.setField(store, "cacheMaxWeight", 1000L);
+        store.init();
+        Cache<String, String> inflated = (Cache<String, String>) ReflectionTestUtils.getField(store, "inflated");
+        inflated.put("hash", "full snippet");
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId("t1");
+        tutorial.setTitle("Title");
+        tutorial.setDescription("Description");
+        tutorial.setCodeSnippet("full");
+        tutorial.setSnippetRef("hash");
+        tutorial.setTags(List.of("java"));
+        tutorial.setCreatorId("alice");
+        tutorial.setVersion(3L);
+        tutorial.setLikes(5);
+        tutorial.setCommentCount(2);
+
+        Tutorial resolved = store.resolve(tutorial);
+
+        assertEquals(tutorial.toBuilder().codeSnippet("full snippet").snippetRef(null).build(), resolved);
+        assertEquals("hash", tutorial.getSnippetRef()); // The original is left alone
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.TagCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagStatisticsTest {
+
+    private TagStatistics tagStatistics;
+
+    @BeforeEach
+    void setUp() {
+        tagStatistics = new TagStatistics();
+        ReflectionTestUtils.setField(tagStatistics, "activityHalfLifeHours", 24.0);
+    }
+
+    @Test
+    void appliesTagDiffsFromWrites() {
+        tagStatistics.onTagsChanged(null, List.of("java", "spring"));
+        tagStatistics.onTagsChanged(null, List.of("java", "java"));
+        tagStatistics.onTagsChanged(List.of("java", "spring"), List.of("java", "mongo"));
+
+        assertEquals(List.of("java:2", "mongo:1"), counts(tagStatistics.popular(10)));
+
+        tagStatistics.onTagsChanged(List.of("java", "mongo"), null);
+        assertEquals(List.of("java:1"), counts(tagStatistics.popular(10)));
+    }
+
+    @Test
+    void autocompletesPrefixesIgnoringCase() {
+        tagStatistics.onTagsChanged(null, List.of("java", "JavaScript", "jakarta", "kotlin"));
+        tagStatistics.onTagsChanged(null, List.of("javascript"));
+        tagStatistics.onTagsChanged(null, List.of("javascript"));
+
+        List<String> matches = tagStatistics.autocomplete("JAV", 10).stream().map(TagCount::getTag).toList();
+        assertEquals("javascript", matches.get(0));
+        assertEquals(3, matches.size());
+        assertTrue(matches.containsAll(List.of("java", "JavaScript")));
+
+        assertEquals(1, tagStatistics.autocomplete("ja", 1).size());
+        assertTrue(tagStatistics.autocomplete("rust", 10).isEmpty());
+    }
+
+    @Test
+    void ranksRecentActivityAboveOlderCounts() {
+        AtomicLong now = new AtomicLong(0);
+        ReflectionTestUtils.setField(tagStatistics, "clock", (LongSupplier) now::get);
+        tagStatistics.onTagsChanged(null, List.of("old"));
+        tagStatistics.onTagsChanged(null, List.of("old"));
+        tagStatistics.onTagsChanged(null, List.of("old"));
+        now.set(Duration.ofDays(3).toMillis());
+        tagStatistics.onTagsChanged(null, List.of("new"));
+
+        assertEquals("new", tagStatistics.trending(1).get(0).getTag());
+        assertEquals("old", tagStatistics.popular(1).get(0).getTag());
+    }
+
+    private static List<String> counts(List<TagCount> tags) {
+        return tags.stream().map(tag -> tag.getTag() + ":" + tag.getCount()).toList();
+    }
+}
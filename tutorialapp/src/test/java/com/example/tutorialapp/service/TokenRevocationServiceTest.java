@@ -0,0 +1,139 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class TokenRevocationServiceTest {
+
+    private JwtService jwtService;
+    private InMemoryTokenRevocationStore store;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "test-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+
+        store = new InMemoryTokenRevocationStore();
+        service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "store", store);
+        ReflectionTestUtils.setField(service, "jwtService", jwtService);
+        ReflectionTestUtils.setField(service, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        service.init();
+    }
+
+    @Test
+    void revokedTokenIsRejectedOthersAreNot() {
+        String revoked = jwtService.generateToken(user("a@example.com"));
+        String other = jwtService.generateToken(user("b@example.com"));
+
+        service.revoke(revoked);
+
+        assertTrue(service.isRevoked(revoked));
+        assertFalse(service.isRevoked(other));
+    }
+
+    @Test
+    void revocationsFromOtherInstancesReachTheFilter() {
+        String token = jwtService.generateToken(user("a@example.com"));
+
+        // As if another instance revoked it and the store relayed the notification
+        store.revoke(JwtService.hashToken(token), Instant.now().plusSeconds(60));
+
+        assertTrue(service.isRevoked(token));
+    }
+
+    @Test
+    void rebuildKeepsStoredRevocations() {
+        String token = jwtService.generateToken(user("a@example.com"));
+        service.revoke(token);
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked(token));
+    }
+
+    @Test
+    void revocationArrivingAsARebuildFinishesReachesTheNewFilter() throws Exception {
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch swapAllowed = new CountDownLatch(1);
+        // Holds the rebuild between its store snapshot and swapping in the new filter
+        InMemoryTokenRevocationStore slowStore = new InMemoryTokenRevocationStore() {
+            @Override
+            public Set<String> revokedTokens() {
+                Set<String> snapshot = super.revokedTokens();
+                snapshotTaken.countDown();
+                try {
+                    swapAllowed.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return snapshot;
+            }
+        };
+        ReflectionTestUtils.setField(service, "store", slowStore);
+        service.init();
+        Thread rebuilder = new Thread(service::rebuild);
+
+        // Let the rebuild finish while the revocation is half-remembered: after the current filter has it
+        BloomFilter current = spy(new BloomFilter(1000, 0.01));
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            swapAllowed.countDown();
+            rebuilder.join();
+            return null;
+        }).when(current).put(anyString());
+        ReflectionTestUtils.setField(service, "bloom", current);
+
+        rebuilder.start();
+        assertTrue(snapshotTaken.await(10, TimeUnit.SECONDS));
+        String token = jwtService.generateToken(user("a@example.com"));
+        slowStore.revoke(JwtService.hashToken(token), Instant.now().plusSeconds(60)); // Missed by the snapshot
+
+        assertTrue(service.isRevoked(token));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("member-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setId(email);
+        user.setEmail(email);
+        user.setName(email);
+        user.setProvider("github");
+        return user;
+    }
+}
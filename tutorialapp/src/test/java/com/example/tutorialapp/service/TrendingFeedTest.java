@@ -0,0 +1,111 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.TrendingScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingFeedTest {
+
+    private final AtomicLong now = new AtomicLong(Duration.ofDays(20_000).toMillis());
+    private MongoTemplate mongoTemplate;
+    private TrendingFeed trendingFeed;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(mock(BulkOperations.class));
+        trendingFeed = new TrendingFeed();
+        ReflectionTestUtils.setField(trendingFeed, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(trendingFeed, "clock", (LongSupplier) now::get);
+        ReflectionTestUtils.setField(trendingFeed, "halfLifeHours", 24.0);
+        ReflectionTestUtils.setField(trendingFeed, "listSize", 500);
+        ReflectionTestUtils.setField(trendingFeed, "minScore", 0.05);
+        ReflectionTestUtils.setField(trendingFeed, "viewWeight", 1.0);
+        ReflectionTestUtils.setField(trendingFeed, "likeWeight", 5.0);
+    }
+
+    @Test
+    void ranksSiteWideAndPerTag() {
+        views("a", List.of("java"), 3);
+        trendingFeed.record("b", List.of("java", "spring"), TrendingFeed.Activity.LIKE);
+        views("c", List.of("spring"), 1);
+        trendingFeed.refresh();
+
+        assertEquals(List.of("b", "a", "c"), trendingFeed.page(null, 0, 10));
+        assertEquals(List.of("a"), trendingFeed.page("", 1, 1));
+        assertEquals(List.of("b", "a"), trendingFeed.page("java", 0, 10));
+        assertEquals(List.of("b", "c"), trendingFeed.page("spring", 0, 10));
+        assertEquals(List.of(), trendingFeed.page("rust", 0, 10));
+
+        // Retagging moves a tutorial between tag lists; activity accumulates
+        views("c", List.of("java"), 5);
+        trendingFeed.refresh();
+        assertEquals(List.of("c", "b", "a"), trendingFeed.page("java", 0, 10));
+        assertEquals(List.of("b"), trendingFeed.page("spring", 0, 10));
+    }
+
+    @Test
+    void recentActivityOutranksOlderActivity() {
+        views("old", List.of(), 4);
+        trendingFeed.refresh();
+        now.addAndGet(Duration.ofDays(3).toMillis()); // Three half-lives: the four views now count as half of one
+        views("new", List.of(), 1);
+        trendingFeed.refresh();
+
+        assertEquals(List.of("new", "old"), trendingFeed.page(null, 0, 10));
+    }
+
+    @Test
+    void keepsTopNAndRefillsAfterDeletesOnSnapshot() {
+        ReflectionTestUtils.setField(trendingFeed, "listSize", 2);
+        views("a", List.of(), 3);
+        views("b", List.of(), 2);
+        views("c", List.of(), 1);
+        trendingFeed.refresh();
+        assertEquals(List.of("a", "b"), trendingFeed.page(null, 0, 10));
+
+        trendingFeed.onDeleted("a");
+        trendingFeed.refresh();
+        assertEquals(List.of("b"), trendingFeed.page(null, 0, 10));
+
+        trendingFeed.snapshot();
+        assertEquals(List.of("b", "c"), trendingFeed.page(null, 0, 10));
+
+        // A restarted instance serves the snapshot before any new activity arrives
+        TrendingFeed restarted = new TrendingFeed();
+        ReflectionTestUtils.setField(restarted, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(restarted, "listSize", 2);
+        when(mongoTemplate.findAll(TrendingScore.class)).thenReturn(List.of(
+                new TrendingScore("b", 2.0, List.of("java"), null),
+                new TrendingScore("c", 5.0, List.of(), null)));
+        restarted.refresh();
+        assertEquals(List.of("c", "b"), restarted.page(null, 0, 10));
+        assertEquals(List.of("b"), restarted.page("java", 0, 10));
+    }
+
+    @Test
+    void sumsScoresInLogSpace() {
+        assertEquals(4.0, TrendingFeed.logSum(3.0, 3.0), 1e-9);
+        assertEquals(3.0, TrendingFeed.logSum(3.0, Double.NEGATIVE_INFINITY), 1e-9);
+        assertEquals(Math.log(3) / Math.log(2), TrendingFeed.logSum(0.0, 1.0), 1e-9);
+    }
+
+    private void views(String id, List<String> tags, int count) {
+        for (int i = 0; i < count; i++) {
+            trendingFeed.record(id, tags, TrendingFeed.Activity.VIEW);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.CursorPage;
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TutorialCacheTest {
+
+    private TutorialCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new TutorialCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxWeight", 1_000_000L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    void servesRepeatReadsFromCacheUntilUpdated() {
+        Tutorial tutorial = tutorial("t1", List.of("java"));
+
+        cache.getById("t1", this::load);
+        cache.getById("t1", this::load);
+        assertEquals(1, loads.get());
+
+        cache.onUpdated(tutorial, tutorial);
+        cache.getById("t1", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsOnlyTagSearchesSharingATag() {
+        cache.getTagSearch(List.of("java"), false, 0, 20, this::loadSearch);
+        cache.getTagSearch(List.of("python"), false, 0, 20, this::loadSearch);
+
+        cache.onCreated(tutorial("t2", List.of("java", "spring")));
+
+        cache.getTagSearch(List.of("java"), false, 0, 20, this::loadSearch);
+        cache.getTagSearch(List.of("python"), false, 0, 20, this::loadSearch);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void keepsFullFirstFeedPageWhenTutorialIsCreated() {
+        cache.getFirstFeedPage(1, () -> loadPage("cursor"));
+        cache.getFirstFeedPage(2, () -> loadPage(null));
+
+        cache.onCreated(tutorial("t3", List.of()));
+
+        cache.getFirstFeedPage(1, () -> loadPage("cursor"));
+        cache.getFirstFeedPage(2, () -> loadPage(null));
+        assertEquals(3, loads.get());
+    }
+
+    private Tutorial load(String id) {
+        loads.incrementAndGet();
+        return tutorial(id, List.of());
+    }
+
+    private List<TutorialSummary> loadSearch() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    private CursorPage<TutorialSummary> loadPage(String nextCursor) {
+        loads.incrementAndGet();
+        return new CursorPage<>(List.of(), nextCursor);
+    }
+
+    private static Tutorial tutorial(String id, List<String> tags) {
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId(id);
+        tutorial.setTags(tags);
+        return tutorial;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.TutorialEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TutorialEventServiceTest {
+
+    @Test
+    void slowSubscriberOnlyLosesItsOwnOldestEventsAndIsToldToResync() {
+        TutorialEventService service = service("drop-oldest");
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        RecordingSubscriber fast = new RecordingSubscriber(Long.MAX_VALUE);
+        service.subscribe(null).subscribe(slow);
+        service.subscribe(null).subscribe(fast);
+
+        for (int i = 1; i <= 5; i++) {
+            service.broadcast(new TutorialEvent(TutorialEvent.CREATED, "t" + i, null));
+        }
+        slow.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(TutorialEvent.RESYNC, "t5"), slow.ids); // t4 follows a gap, so it becomes the resync
+        assertEquals(List.of("t1", "t2", "t3", "t4", "t5"), fast.ids);
+        assertNull(slow.error);
+    }
+
+    @Test
+    void disconnectPolicyFailsTheSlowSubscriber() {
+        TutorialEventService service = service("disconnect");
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        service.subscribe(null).subscribe(slow);
+
+        for (int i = 1; i <= 3; i++) {
+            service.broadcast(new TutorialEvent(TutorialEvent.UPDATED, "t" + i, null));
+        }
+        slow.request(Long.MAX_VALUE);
+
+        assertNotNull(slow.error);
+    }
+
+    @Test
+    void reconnectingClientResyncsOnlyWhenItMissedEvents() {
+        TutorialEventService service = service("drop-oldest");
+        RecordingSubscriber first = new RecordingSubscriber(Long.MAX_VALUE);
+        service.subscribe(null).subscribe(first);
+        service.broadcast(new TutorialEvent(TutorialEvent.CREATED, "t1", null));
+        String lastSeen = service.idOf(first.last);
+        first.dispose();
+
+        RecordingSubscriber upToDate = new RecordingSubscriber(Long.MAX_VALUE);
+        service.subscribe(lastSeen).subscribe(upToDate);
+        service.broadcast(new TutorialEvent(TutorialEvent.UPDATED, "t1", null));
+        assertEquals(List.of("t1"), upToDate.ids);
+
+        RecordingSubscriber behind = new RecordingSubscriber(Long.MAX_VALUE);
+        service.subscribe(lastSeen).subscribe(behind);
+        RecordingSubscriber otherInstance = new RecordingSubscriber(Long.MAX_VALUE);
+        service.subscribe("elsewhere-1").subscribe(otherInstance);
+        service.broadcast(new TutorialEvent(TutorialEvent.DELETED, "t1", null));
+        assertEquals(List.of(TutorialEvent.RESYNC, "t1"), behind.ids);
+        assertEquals(List.of(TutorialEvent.RESYNC, "t1"), otherInstance.ids);
+    }
+
+    @Test
+    void readsObjectIdAndStringDocumentKeys() {
+        ObjectId objectId = new ObjectId();
+        assertEquals(objectId.toHexString(), TutorialEventService.idOf(new BsonDocument("_id", new BsonObjectId(objectId))));
+        assertEquals("imported-1", TutorialEventService.idOf(new BsonDocument("_id", new BsonString("imported-1"))));
+        assertNull(TutorialEventService.idOf(new BsonDocument("_id", new BsonInt64(7))));
+    }
+
+    private static TutorialEventService service(String overflow) {
+        TutorialEventService service = new TutorialEventService();
+        ReflectionTestUtils.setField(service, "clientBuffer", 2);
+        ReflectionTestUtils.setField(service, "overflow", overflow);
+        return service;
+    }
+
+    private static class RecordingSubscriber extends BaseSubscriber<TutorialEvent> {
+        private final long initialRequest;
+        private final List<String> ids = new ArrayList<>(); // The type for resync events, which have no id
+        private TutorialEvent last;
+        private Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(TutorialEvent event) {
+            ids.add(TutorialEvent.RESYNC.equals(event.getType()) ? TutorialEvent.RESYNC : event.getId());
+            last = event;
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+    }
+}
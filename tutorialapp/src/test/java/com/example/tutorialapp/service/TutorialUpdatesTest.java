@@ -0,0 +1,83 @@
+package com.example.tutorialapp.service;
+
+import com.example.tutorialapp.model.Tutorial;
+import com.example.tutorialapp.model.TutorialPatch;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TutorialUpdatesTest {
+
+    @Test
+    void setsOnlyPatchedFieldsAndBumpsVersion() {
+        TutorialPatch patch = new TutorialPatch();
+        patch.setTitle("New title");
+
+        Document update = TutorialUpdates.toUpdate(patch, new SnippetStore.Stored(patch.getCodeSnippet(), null)).getUpdateObject();
+
+        assertEquals(new Document("title", "New title"), update.get("$set"));
+        assertEquals(new Document("version", 1), update.get("$inc"));
+    }
+
+    @Test
+    void filtersOnVersionOnlyWhenGiven() {
+        assertFalse(TutorialUpdates.ownedBy("id", "me@example.com", null).getQueryObject().containsKey("version"));
+        assertEquals(3L, TutorialUpdates.ownedBy("id", "me@example.com", 3L).getQueryObject().get("version"));
+    }
+
+    @Test
+    void derivesUpdatedDocumentFromPreImage() {
+        Tutorial previous = new Tutorial();
+        previous.setId("t1");
+        previous.setCreatorId("me@example.com");
+        previous.setTitle("Old");
+        previous.setTags(List.of("java"));
+        previous.setVersion(4L);
+        previous.setLikes(7);
+        TutorialPatch patch = new TutorialPatch();
+        patch.setTags(List.of("spring"));
+
+        Tutorial updated = TutorialUpdates.applied(previous, patch, new SnippetStore.Stored(null, null));
+
+        assertEquals("Old", updated.getTitle());
+        assertEquals(List.of("spring"), updated.getTags());
+        assertEquals("me@example.com", updated.getCreatorId());
+        assertEquals(5L, updated.getVersion());
+        assertEquals(7, updated.getLikes());
+    }
+
+    @Test
+    void deleteFilterChecksOwnerAndProjectsOnlyBookkeepingFields() {
+        var query = TutorialUpdates.ownedForDelete("id", "me@example.com");
+
+        assertEquals("me@example.com", query.getQueryObject().get("creatorId"));
+        assertEquals(new Document("creatorId", 1).append("tags", 1), query.getFieldsObject());
+    }
+
+    @Test
+    void patchedSnippetReplacesOrDropsStoredReference() {
+        TutorialPatch patch = new TutorialPatch();
+        patch.setCodeSnippet("long snippet");
+        Tutorial previous = new Tutorial();
+        previous.setSnippetRef("old-hash");
+
+        Document stored = TutorialUpdates.toUpdate(patch, new SnippetStore.Stored("long", "new-hash")).getUpdateObject();
+        Document inline = TutorialUpdates.toUpdate(patch, new SnippetStore.Stored(patch.getCodeSnippet(), null)).getUpdateObject();
+
+        assertEquals(new Document("codeSnippet", "long").append("snippetRef", "new-hash"), stored.get("$set"));
+        assertEquals(new Document("snippetRef", 1), inline.get("$unset"));
+        assertEquals("new-hash", TutorialUpdates.applied(previous, patch, new SnippetStore.Stored("long", "new-hash")).getSnippetRef());
+        assertNull(TutorialUpdates.applied(previous, patch, new SnippetStore.Stored("long snippet", null)).getSnippetRef());
+    }
+
+    @Test
+    void rejectsEmptyPatch() {
+        assertThrows(IllegalArgumentException.class, () -> TutorialUpdates.toUpdate(new TutorialPatch(), new SnippetStore.Stored(null, null)));
+    }
+}